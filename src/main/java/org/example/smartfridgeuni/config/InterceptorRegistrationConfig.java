@@ -2,6 +2,7 @@ package org.example.smartfridgeuni.config;
 
 import lombok.RequiredArgsConstructor;
 import org.example.smartfridgeuni.interceptor.AppInterceptor;
+import org.example.smartfridgeuni.interceptor.ConditionalGetInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -11,10 +12,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class InterceptorRegistrationConfig implements WebMvcConfigurer {
 
     private final AppInterceptor appInterceptor;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(appInterceptor);
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/food-items/**", "/recipes/**", "/recommendations/**")
+                .excludePathPatterns("/food-items/import/**", "/food-items/changes");
     }
 
 }
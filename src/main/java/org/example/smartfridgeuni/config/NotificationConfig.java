@@ -0,0 +1,26 @@
+package org.example.smartfridgeuni.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class NotificationConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor notificationSenderPool(@Value("${notification.outbox.workers:4}") int workers,
+                                                     @Value("${notification.outbox.batch-size:50}") int batchSize) {
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        return new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(batchSize), runnable -> {
+            Thread thread = new Thread(runnable, "notification-sender-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.smartfridgeuni.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class RecommendationConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool recommendationScoringPool(@Value("${recommendation.parallel.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        return new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("recommendation-scoring-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
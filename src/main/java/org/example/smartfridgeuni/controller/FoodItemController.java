@@ -1,15 +1,28 @@
 package org.example.smartfridgeuni.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.smartfridgeuni.model.dto.ApiResponseDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemBatchRequest;
+import org.example.smartfridgeuni.model.dto.FoodItemBatchResultDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemChangesDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemConsumeRequest;
 import org.example.smartfridgeuni.model.dto.FoodItemDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemPageDTO;
 import org.example.smartfridgeuni.model.dto.FoodItemRequest;
+import org.example.smartfridgeuni.model.dto.ImportJobDTO;
+import org.example.smartfridgeuni.model.entity.ImportJob;
+import org.example.smartfridgeuni.service.FoodItemChangeLogService;
+import org.example.smartfridgeuni.service.FoodItemImportService;
 import org.example.smartfridgeuni.service.FoodItemService;
+import org.example.smartfridgeuni.util.NdjsonWriter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,10 +30,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -30,7 +47,13 @@ import java.util.List;
 @Tag(name = "Food Items", description = "API for managing food items in the smart fridge")
 public class FoodItemController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+
     private final FoodItemService foodItemService;
+    private final FoodItemImportService foodItemImportService;
+    private final FoodItemChangeLogService foodItemChangeLogService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ApiResponseDTO<FoodItemDTO>> addFoodItem(
@@ -45,22 +68,114 @@ public class FoodItemController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponseDTO<FoodItemBatchResultDTO>> addFoodItems(
+            @Valid @RequestBody FoodItemBatchRequest batchRequest) {
+
+        log.info("Received request to add batch of {} food items", batchRequest.getItems().size());
+
+        FoodItemBatchResultDTO result = foodItemService.addFoodItems(batchRequest.getItems());
+        if (result.getCreatedItems() == 0) {
+            ApiResponseDTO<FoodItemBatchResultDTO> response = new ApiResponseDTO<>(false,
+                    "Batch rejected: one or more items are invalid", result);
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+
+        ApiResponseDTO<FoodItemBatchResultDTO> response = ApiResponseDTO.success(
+                "Food items added successfully", result);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/import", consumes = {CSV_MEDIA_TYPE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponseDTO<ImportJobDTO>> importFoodItems(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(description = "ID of a failed import job to resume") @RequestParam(required = false) Long resumeFrom,
+            InputStream body) {
+
+        log.info("Received request to import food items (contentType: {}, resumeFrom: {})", contentType, resumeFrom);
+
+        ImportJob.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? ImportJob.Format.NDJSON
+                : ImportJob.Format.CSV;
+        ImportJobDTO job = foodItemImportService.importFoodItems(body, format, resumeFrom);
+
+        if (ImportJob.Status.FAILED.name().equals(job.getStatus())) {
+            ApiResponseDTO<ImportJobDTO> response = new ApiResponseDTO<>(false,
+                    "Import failed; resend the file with resumeFrom=" + job.getId() + " to continue", job);
+            return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        ApiResponseDTO<ImportJobDTO> response = ApiResponseDTO.success("Import completed", job);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponseDTO<ImportJobDTO>> getImportJob(@PathVariable Long jobId) {
+
+        log.info("Received request to get import job with ID: {}", jobId);
+
+        ApiResponseDTO<ImportJobDTO> response = ApiResponseDTO.success(foodItemImportService.getImportJob(jobId));
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponseDTO<List<FoodItemDTO>>> getAllFoodItems(
             @Parameter(description = "Filter by category") @RequestParam(required = false) String category,
-            @Parameter(description = "Search by name") @RequestParam(required = false) String search) {
+            @Parameter(description = "Search by name") @RequestParam(required = false) String search,
+            @Parameter(description = "Only items expiring on or after this date") @RequestParam(required = false) LocalDate expiresFrom,
+            @Parameter(description = "Only items expiring on or before this date") @RequestParam(required = false) LocalDate expiresTo,
+            @Parameter(description = "Page size (1-200); enables pagination") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page") @RequestParam(required = false) String cursor) {
 
-        log.info("Received request to get all food items (category: {}, search: {})", category, search);
+        log.info("Received request to get all food items (category: {}, search: {}, expiresFrom: {}, expiresTo: {}, limit: {}, cursor: {})",
+                category, search, expiresFrom, expiresTo, limit, cursor);
 
-        List<FoodItemDTO> foodItems;
+        FoodItemPageDTO page = foodItemService.getFoodItems(category, search, expiresFrom, expiresTo, limit, cursor);
 
-        if (category != null && !category.trim().isEmpty()) {
-            foodItems = foodItemService.getFoodItemsByCategory(category);
-        } else if (search != null && !search.trim().isEmpty()) {
-            foodItems = foodItemService.searchFoodItems(search);
-        } else {
-            foodItems = foodItemService.getAllFoodItems();
+        ApiResponseDTO<List<FoodItemDTO>> response = ApiResponseDTO.success(page.getItems());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
         }
+        return builder.body(response);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFoodItems(
+            @Parameter(description = "Filter by category") @RequestParam(required = false) String category,
+            @Parameter(description = "Search by name") @RequestParam(required = false) String search) {
+
+        log.info("Received request to stream food items (category: {}, search: {})", category, search);
+
+        StreamingResponseBody body = out -> foodItemService.streamFoodItems(
+                category, search, new NdjsonWriter<>(out, objectMapper));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponseDTO<FoodItemChangesDTO>> getFoodItemChanges(
+            @Parameter(description = "Cursor from the previous response; omit for a full sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes (1-1000)") @RequestParam(defaultValue = "500") int limit) {
+
+        log.info("Received request to get food item changes (since: {}, limit: {})", since, limit);
+
+        FoodItemChangesDTO changes = foodItemChangeLogService.getChanges(since, limit);
+
+        ApiResponseDTO<FoodItemChangesDTO> response = ApiResponseDTO.success(changes);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO<List<FoodItemDTO>>> searchFoodItems(
+            @Parameter(description = "Name or part of a name; close spellings also match") @RequestParam String q,
+            @Parameter(description = "Maximum number of results (1-100)") @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("Received request to search food items (q: {}, limit: {})", q, limit);
+
+        List<FoodItemDTO> foodItems = foodItemService.searchFoodItems(q, limit);
 
         ApiResponseDTO<List<FoodItemDTO>> response = ApiResponseDTO.success(foodItems);
         return ResponseEntity.ok(response);
@@ -91,6 +206,20 @@ public class FoodItemController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{id}/consume")
+    public ResponseEntity<ApiResponseDTO<FoodItemDTO>> consumeFoodItem(
+            @PathVariable Long id,
+            @Valid @RequestBody FoodItemConsumeRequest consumeRequest) {
+
+        log.info("Received request to consume {} of food item with ID: {}", consumeRequest.getAmount(), id);
+
+        FoodItemDTO consumedItem = foodItemService.consumeFoodItem(id, consumeRequest.getAmount());
+
+        ApiResponseDTO<FoodItemDTO> response = ApiResponseDTO.success(
+                "Food item consumed successfully", consumedItem);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponseDTO<String>> deleteFoodItem(@PathVariable Long id) {
 
@@ -5,9 +5,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.smartfridgeuni.model.dto.ApiResponseDTO;
+import org.example.smartfridgeuni.model.dto.CookRecipeResultDTO;
 import org.example.smartfridgeuni.model.dto.RecipeDTO;
 import org.example.smartfridgeuni.model.dto.RecipeRequest;
 import org.example.smartfridgeuni.model.dto.RecipeSummaryDTO;
+import org.example.smartfridgeuni.service.RecipeCookingService;
 import org.example.smartfridgeuni.service.RecipeService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,6 +33,7 @@ import java.util.List;
 public class RecipeController {
 
     private final RecipeService recipeService;
+    private final RecipeCookingService recipeCookingService;
 
     @PostMapping
     public ResponseEntity<ApiResponseDTO<RecipeDTO>> addRecipe(
@@ -60,6 +63,19 @@ public class RecipeController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO<List<RecipeSummaryDTO>>> searchRecipes(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("Received request to search recipes (q: {}, limit: {})", q, limit);
+
+        List<RecipeSummaryDTO> recipes = recipeService.searchRecipesByName(q, limit);
+
+        ApiResponseDTO<List<RecipeSummaryDTO>> response = ApiResponseDTO.success(recipes);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponseDTO<RecipeDTO>> getRecipeById(@PathVariable Long id) {
 
@@ -85,6 +101,18 @@ public class RecipeController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/{id}/cook")
+    public ResponseEntity<ApiResponseDTO<CookRecipeResultDTO>> cookRecipe(@PathVariable Long id) {
+
+        log.info("Received request to cook recipe with ID: {}", id);
+
+        CookRecipeResultDTO result = recipeCookingService.cookRecipe(id);
+
+        ApiResponseDTO<CookRecipeResultDTO> response = ApiResponseDTO.success(
+                "Recipe cooked successfully", result);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponseDTO<String>> deleteRecipe(@PathVariable Long id) {
 
@@ -1,5 +1,6 @@
 package org.example.smartfridgeuni.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -9,11 +10,15 @@ import org.example.smartfridgeuni.model.dto.ExpirationSummaryDTO;
 import org.example.smartfridgeuni.model.dto.RecommendationResponseDTO;
 import org.example.smartfridgeuni.service.ExpirationTrackingService;
 import org.example.smartfridgeuni.service.RecipeRecommendationService;
+import org.example.smartfridgeuni.service.RecipeRecommendationService.Ranking;
+import org.example.smartfridgeuni.util.NdjsonWriter;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/recommendations")
@@ -24,31 +29,64 @@ public class RecommendationController {
 
     private final RecipeRecommendationService recommendationService;
     private final ExpirationTrackingService expirationTrackingService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<ApiResponseDTO<RecommendationResponseDTO>> getRecipeRecommendations(
             @Parameter(description = "Minimum match percentage (0-100)")
             @RequestParam(required = false) Double minMatch,
             @Parameter(description = "Only show recipes that can be made completely")
-            @RequestParam(required = false, defaultValue = "false") Boolean canMakeOnly) {
+            @RequestParam(required = false, defaultValue = "false") Boolean canMakeOnly,
+            @Parameter(description = "Maximum number of recommendations to return (1-100)")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Number of top recommendations to skip")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Ranking: MATCH by match percentage, EXPIRY to favour ingredients about to expire")
+            @RequestParam(defaultValue = "MATCH") Ranking rank) {
 
-        log.info("Received request for recipe recommendations (minMatch: {}%, canMakeOnly: {})",
-                minMatch, canMakeOnly);
+        log.info("Received request for recipe recommendations (minMatch: {}%, canMakeOnly: {}, limit: {}, offset: {}, rank: {})",
+                minMatch, canMakeOnly, limit, offset, rank);
 
         RecommendationResponseDTO recommendations = recommendationService
-                .getRecipeRecommendations(minMatch, canMakeOnly);
+                .getRecipeRecommendations(minMatch, canMakeOnly, limit, offset, rank);
 
         ApiResponseDTO<RecommendationResponseDTO> response = ApiResponseDTO.success(recommendations);
         return ResponseEntity.ok(response);
     }
 
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRecipeRecommendations(
+            @Parameter(description = "Minimum match percentage (0-100)")
+            @RequestParam(required = false) Double minMatch,
+            @Parameter(description = "Only show recipes that can be made completely")
+            @RequestParam(required = false, defaultValue = "false") Boolean canMakeOnly,
+            @Parameter(description = "Maximum number of recommendations to stream (1-10000)")
+            @RequestParam(defaultValue = "1000") int limit,
+            @Parameter(description = "Number of top recommendations to skip")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Ranking: MATCH by match percentage, EXPIRY to favour ingredients about to expire")
+            @RequestParam(defaultValue = "MATCH") Ranking rank) {
+
+        log.info("Received request to stream recipe recommendations (minMatch: {}%, canMakeOnly: {}, limit: {}, offset: {}, rank: {})",
+                minMatch, canMakeOnly, limit, offset, rank);
+
+        StreamingResponseBody body = out -> recommendationService.streamRecipeRecommendations(
+                minMatch, canMakeOnly, limit, offset, rank, new NdjsonWriter<>(out, objectMapper));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/expiration-summary")
-    public ResponseEntity<ApiResponseDTO<ExpirationSummaryDTO>> getExpirationSummary() {
+    public ResponseEntity<ApiResponseDTO<ExpirationSummaryDTO>> getExpirationSummary(
+            @Parameter(description = "Maximum number of items listed per bucket (0-200, 0 for counts only); omit to list all")
+            @RequestParam(required = false) Integer itemsPerBucket) {
 
         log.info("Received request for expiration summary");
 
-        ExpirationSummaryDTO summary = expirationTrackingService.getExpirationSummary();
+        ExpirationSummaryDTO summary = expirationTrackingService.getExpirationSummary(itemsPerBucket);
 
         ApiResponseDTO<ExpirationSummaryDTO> response = ApiResponseDTO.success(summary);
         return ResponseEntity.ok(response);
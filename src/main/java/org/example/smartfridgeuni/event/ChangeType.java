@@ -0,0 +1,7 @@
+package org.example.smartfridgeuni.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
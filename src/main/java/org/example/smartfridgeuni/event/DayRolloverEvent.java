@@ -0,0 +1,13 @@
+package org.example.smartfridgeuni.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+@Getter
+@RequiredArgsConstructor
+public class DayRolloverEvent {
+
+    private final LocalDate today;
+}
@@ -0,0 +1,15 @@
+package org.example.smartfridgeuni.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class ExpiryEvent {
+
+    private final ExpiryStage stage;
+    private final List<FoodItem> foodItems;
+}
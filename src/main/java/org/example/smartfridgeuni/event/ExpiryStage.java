@@ -0,0 +1,5 @@
+package org.example.smartfridgeuni.event;
+
+public enum ExpiryStage {
+    FRESH, EXPIRING_SOON, EXPIRED
+}
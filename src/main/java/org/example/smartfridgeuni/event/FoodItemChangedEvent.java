@@ -0,0 +1,22 @@
+package org.example.smartfridgeuni.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+
+@Getter
+@RequiredArgsConstructor
+public class FoodItemChangedEvent {
+
+    private final ChangeType changeType;
+    private final Long foodItemId;
+    private final FoodItem foodItem;
+
+    public static FoodItemChangedEvent saved(ChangeType changeType, FoodItem foodItem) {
+        return new FoodItemChangedEvent(changeType, foodItem.getId(), foodItem);
+    }
+
+    public static FoodItemChangedEvent deleted(Long foodItemId) {
+        return new FoodItemChangedEvent(ChangeType.DELETED, foodItemId, null);
+    }
+}
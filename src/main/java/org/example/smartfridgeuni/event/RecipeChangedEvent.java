@@ -0,0 +1,22 @@
+package org.example.smartfridgeuni.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.smartfridgeuni.model.entity.Recipe;
+
+@Getter
+@RequiredArgsConstructor
+public class RecipeChangedEvent {
+
+    private final ChangeType changeType;
+    private final Long recipeId;
+    private final Recipe recipe;
+
+    public static RecipeChangedEvent saved(ChangeType changeType, Recipe recipe) {
+        return new RecipeChangedEvent(changeType, recipe.getId(), recipe);
+    }
+
+    public static RecipeChangedEvent deleted(Long recipeId) {
+        return new RecipeChangedEvent(ChangeType.DELETED, recipeId, null);
+    }
+}
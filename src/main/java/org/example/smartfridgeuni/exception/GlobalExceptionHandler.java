@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.example.smartfridgeuni.model.dto.ApiResponseDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.ObjectError;
@@ -41,6 +42,14 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponseDTO<Object>> optimisticLockingExceptionHandler(OptimisticLockingFailureException ex,
+                                                                                 HandlerMethod handlerMethod, HttpServletRequest request) {
+        log.error("Exception is {}", ex);
+        ApiResponseDTO<Object> errorDto = ApiResponseDTO.error("The resource was modified concurrently, please retry");
+        return new ResponseEntity<>(errorDto, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponseDTO<Object>> otherExceptionHandler(Exception ex,
                                                                     HandlerMethod handlerMethod, HttpServletRequest request) {
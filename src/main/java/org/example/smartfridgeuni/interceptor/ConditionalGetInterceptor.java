@@ -0,0 +1,58 @@
+package org.example.smartfridgeuni.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.smartfridgeuni.service.VersionTracker;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Answers conditional GETs before the handler runs. The ETag is derived from the inventory and
+ * catalog versions the resource depends on, so a matching {@code If-None-Match} gets a 304 without
+ * touching the database or rendering a body. The requested path, query and {@code Accept} header
+ * enter the tag as a SHA-256 digest, so distinct URLs cannot share a tag.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final VersionTracker versionTracker;
+    private final long bootEpoch = System.currentTimeMillis();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(eTag(request));
+    }
+
+    private String eTag(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long inventoryVersion = path.startsWith("/recipes") ? 0 : versionTracker.getInventoryVersion();
+        long catalogVersion = path.startsWith("/food-items") ? 0 : versionTracker.getCatalogVersion();
+        String representation = sha256Hex(path + '\n' + request.getQueryString() + '\n' + request.getHeader(HttpHeaders.ACCEPT));
+
+        return "\"" + Long.toHexString(bootEpoch) + "-" + inventoryVersion + "-" + catalogVersion + "-"
+                + representation + "\"";
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
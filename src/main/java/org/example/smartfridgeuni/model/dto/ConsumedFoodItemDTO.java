@@ -0,0 +1,17 @@
+package org.example.smartfridgeuni.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumedFoodItemDTO {
+
+    private Long foodItemId;
+    private String name;
+    private Double consumedQuantity;
+    private Double remainingQuantity;
+    private String unit;
+}
@@ -0,0 +1,17 @@
+package org.example.smartfridgeuni.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CookRecipeResultDTO {
+
+    private Long recipeId;
+    private String recipeName;
+    private List<ConsumedFoodItemDTO> consumedItems;
+}
@@ -0,0 +1,20 @@
+package org.example.smartfridgeuni.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FoodItemBatchItemResultDTO {
+
+    private Integer index;
+    private Boolean success;
+    private FoodItemDTO item;
+    private List<String> errors;
+}
@@ -0,0 +1,16 @@
+package org.example.smartfridgeuni.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class FoodItemBatchRequest {
+    @NotEmpty(message = "Items are required")
+    @Size(max = 10000, message = "A batch cannot exceed 10000 items")
+    private List<FoodItemRequest> items;
+}
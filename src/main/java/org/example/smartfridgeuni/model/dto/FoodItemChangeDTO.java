@@ -0,0 +1,20 @@
+package org.example.smartfridgeuni.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FoodItemChangeDTO {
+
+    private Long foodItemId;
+    private String changeType;
+    private FoodItemDTO item;
+    private LocalDateTime changedDate;
+}
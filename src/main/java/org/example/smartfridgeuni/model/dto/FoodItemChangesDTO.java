@@ -0,0 +1,17 @@
+package org.example.smartfridgeuni.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodItemChangesDTO {
+
+    private List<FoodItemChangeDTO> changes;
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -0,0 +1,16 @@
+package org.example.smartfridgeuni.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodItemPageDTO {
+
+    private List<FoodItemDTO> items;
+    private String nextCursor;
+}
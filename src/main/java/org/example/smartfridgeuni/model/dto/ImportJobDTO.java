@@ -0,0 +1,25 @@
+package org.example.smartfridgeuni.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+
+    private Long id;
+    private String status;
+    private String format;
+    private Long lastCommittedLine;
+    private Long importedCount;
+    private Long errorCount;
+    private List<String> errors;
+    private String failureReason;
+    private LocalDateTime startedDate;
+    private LocalDateTime updatedDate;
+}
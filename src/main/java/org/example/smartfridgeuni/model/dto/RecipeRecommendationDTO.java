@@ -1,5 +1,6 @@
 package org.example.smartfridgeuni.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,4 +18,7 @@ public class RecipeRecommendationDTO {
     private List<String> missingIngredients;
     private Boolean canMake;
     private String recommendation;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double useItUpScore;
 }
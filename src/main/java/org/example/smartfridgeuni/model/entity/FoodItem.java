@@ -3,14 +3,19 @@ package org.example.smartfridgeuni.model.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.smartfridgeuni.event.ExpiryStage;
 import org.example.smartfridgeuni.util.DateUtils;
 
 import java.time.LocalDate;
@@ -24,7 +29,8 @@ import java.time.LocalDateTime;
 public class FoodItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "food_items_seq")
+    @SequenceGenerator(name = "food_items_seq", sequenceName = "food_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
@@ -45,6 +51,14 @@ public class FoodItem {
     @Column(name = "added_date", nullable = false, updatable = false)
     private LocalDateTime addedDate = LocalDateTime.now(DateUtils.ASIA_TBILISI);
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notified_stage", length = 20, insertable = false, updatable = false)
+    private ExpiryStage notifiedStage;
+
     @Transient
     public boolean isExpired() {
         return expirationDate.isBefore(LocalDate.now(DateUtils.ASIA_TBILISI));
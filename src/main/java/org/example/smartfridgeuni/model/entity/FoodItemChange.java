@@ -0,0 +1,67 @@
+package org.example.smartfridgeuni.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.util.DateUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the append-only food item change log. {@code txid} is filled in by the database
+ * with the writing transaction's id and, together with {@code id}, orders the log.
+ */
+@Entity
+@Table(name = "food_item_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodItemChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "food_item_changes_seq")
+    @SequenceGenerator(name = "food_item_changes_seq", sequenceName = "food_item_changes_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "txid", insertable = false, updatable = false)
+    private Long txid;
+
+    @Column(name = "food_item_id", nullable = false)
+    private Long foodItemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "category", length = 50)
+    private String category;
+
+    @Column(name = "quantity")
+    private Double quantity;
+
+    @Column(name = "unit", length = 20)
+    private String unit;
+
+    @Column(name = "expiration_date")
+    private LocalDate expirationDate;
+
+    @Column(name = "added_date")
+    private LocalDateTime addedDate;
+
+    @Column(name = "changed_date", nullable = false)
+    private LocalDateTime changedDate = LocalDateTime.now(DateUtils.ASIA_TBILISI);
+}
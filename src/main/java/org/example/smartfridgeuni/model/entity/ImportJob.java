@@ -0,0 +1,75 @@
+package org.example.smartfridgeuni.model.entity;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.smartfridgeuni.util.DateUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 20)
+    private Format format;
+
+    @Column(name = "last_committed_line", nullable = false)
+    private Long lastCommittedLine = 0L;
+
+    @Column(name = "imported_count", nullable = false)
+    private Long importedCount = 0L;
+
+    @Column(name = "error_count", nullable = false)
+    private Long errorCount = 0L;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "import_job_errors", joinColumns = @JoinColumn(name = "import_job_id"))
+    @OrderColumn(name = "position")
+    @Column(name = "message", length = 500)
+    private List<String> errors = new ArrayList<>();
+
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    @Column(name = "started_date", nullable = false)
+    private LocalDateTime startedDate = LocalDateTime.now(DateUtils.ASIA_TBILISI);
+
+    @Column(name = "updated_date", nullable = false)
+    private LocalDateTime updatedDate = LocalDateTime.now(DateUtils.ASIA_TBILISI);
+}
@@ -0,0 +1,44 @@
+package org.example.smartfridgeuni.repository;
+
+import org.example.smartfridgeuni.model.entity.FoodItemChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FoodItemChangeRepository extends JpaRepository<FoodItemChange, Long> {
+
+    @Query(value = """
+            SELECT c.*
+            FROM food_item_changes c
+            WHERE (c.txid, c.id) > (:afterTxid, :afterId)
+              AND c.txid < txid_snapshot_xmin(txid_current_snapshot())
+            ORDER BY c.txid, c.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FoodItemChange> findSettledAfter(@Param("afterTxid") long afterTxid, @Param("afterId") long afterId,
+                                          @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM food_item_changes c
+            WHERE c.txid < txid_snapshot_xmin(txid_current_snapshot())
+              AND EXISTS (SELECT 1
+                          FROM food_item_changes newer
+                          WHERE newer.food_item_id = c.food_item_id
+                            AND (newer.txid, newer.id) > (c.txid, c.id))
+            """, nativeQuery = true)
+    int deleteSuperseded();
+
+    @Query("SELECT MAX(c.txid) FROM FoodItemChange c WHERE c.changeType = org.example.smartfridgeuni.event.ChangeType.DELETED AND c.changedDate < :cutoff")
+    Long findMaxTombstoneTxidBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM FoodItemChange c WHERE c.changeType = org.example.smartfridgeuni.event.ChangeType.DELETED AND c.txid <= :maxTxid AND c.changedDate < :cutoff")
+    int deleteTombstones(@Param("maxTxid") long maxTxid, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,13 +1,25 @@
 package org.example.smartfridgeuni.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.smartfridgeuni.event.ExpiryStage;
 import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.repository.projection.ExpiryBucketCount;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
@@ -20,11 +32,81 @@ public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
 
     List<FoodItem> findByCategoryIgnoreCase(String category);
 
-    @Query("SELECT f FROM FoodItem f WHERE LOWER(f.name) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<FoodItem> findByNameContainingIgnoreCase(@Param("name") String name);
+    @Query(value = """
+            SELECT f.id
+            FROM food_items f
+            WHERE LOWER(f.name) LIKE '%' || LOWER(:query) || '%'
+               OR LOWER(f.name) % LOWER(:query)
+            ORDER BY similarity(LOWER(f.name), LOWER(:query)) DESC, f.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> searchIdsByNameSimilarity(@Param("query") String query, @Param("limit") int limit);
 
     @Query("SELECT f FROM FoodItem f WHERE f.expirationDate >= CURRENT_DATE")
     List<FoodItem> findNonExpiredItems();
 
+    @Query("SELECT f FROM FoodItem f WHERE (:categoryNull is true OR LOWER(f.category) = LOWER(:category)) AND (:nameNull is true OR LOWER(f.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+            "AND f.expirationDate BETWEEN :expiresFrom AND :expiresTo AND (f.expirationDate, f.id) > (:afterDate, :afterId) ORDER BY f.expirationDate, f.id")
+    List<FoodItem> findPage(@Param("category") String category, @Param("categoryNull") Boolean categoryNull,
+                            @Param("name") String name, @Param("nameNull") Boolean nameNull,
+                            @Param("expiresFrom") LocalDate expiresFrom, @Param("expiresTo") LocalDate expiresTo,
+                            @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FoodItem f WHERE LOWER(TRIM(f.name)) IN :names AND f.expirationDate >= :today ORDER BY f.id")
+    List<FoodItem> findUsableByCanonicalNamesForUpdate(@Param("names") Collection<String> names, @Param("today") LocalDate today);
+
+    @Query("SELECT f FROM FoodItem f WHERE f.expirationDate BETWEEN :from AND :to AND f.notifiedStage <> org.example.smartfridgeuni.event.ExpiryStage.EXPIRED")
+    List<FoodItem> findExpiryCandidates(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FoodItem f WHERE f.id IN :ids AND f.notifiedStage IN :stages ORDER BY f.id")
+    List<FoodItem> findByIdInAndNotifiedStageInForUpdate(@Param("ids") Collection<Long> ids, @Param("stages") Collection<ExpiryStage> stages);
+
+    @Modifying
+    @Query(value = "UPDATE food_items SET notified_stage = :stage WHERE id IN :ids", nativeQuery = true)
+    int updateNotifiedStage(@Param("ids") Collection<Long> ids, @Param("stage") String stage);
+
+    @Query(value = """
+            SELECT CASE WHEN f.expiration_date < :today THEN 'EXPIRED'
+                        WHEN f.expiration_date <= :soonEnd THEN 'EXPIRING_SOON'
+                        ELSE 'LATER_THIS_WEEK' END AS bucket,
+                   COUNT(*) AS itemCount
+            FROM food_items f
+            WHERE f.expiration_date <= :weekEnd
+            GROUP BY 1
+            """, nativeQuery = true)
+    List<ExpiryBucketCount> countByExpiryBucket(@Param("today") LocalDate today, @Param("soonEnd") LocalDate soonEnd,
+                                                @Param("weekEnd") LocalDate weekEnd);
+
+    @Query(value = """
+            (SELECT f.* FROM food_items f WHERE f.expiration_date < :today
+             ORDER BY f.expiration_date, f.id LIMIT :perBucket)
+            UNION ALL
+            (SELECT f.* FROM food_items f WHERE f.expiration_date BETWEEN :today AND :soonEnd
+             ORDER BY f.expiration_date, f.id LIMIT :perBucket)
+            """, nativeQuery = true)
+    List<FoodItem> findExpiredAndExpiringSoon(@Param("today") LocalDate today, @Param("soonEnd") LocalDate soonEnd,
+                                              @Param("perBucket") int perBucket);
+
+    /**
+     * Subtracts {@code amount} if enough is left and returns the updated row in the same statement,
+     * or nothing if the item is missing or has less than {@code amount}. The returned entity is
+     * only current if the item was not already loaded in the persistence context.
+     */
+    @Query(value = """
+            UPDATE food_items SET quantity = quantity - :amount, version = version + 1
+            WHERE id = :id AND quantity >= :amount
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<FoodItem> consumeQuantity(@Param("id") Long id, @Param("amount") double amount);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM FoodItem f WHERE (:categoryNull is true OR LOWER(f.category) = LOWER(:category)) AND (:nameNull is true OR LOWER(f.name) LIKE LOWER(CONCAT('%', :name, '%'))) ORDER BY f.id")
+    Stream<FoodItem> streamByCategoryAndName(@Param("category") String category, @Param("categoryNull") Boolean categoryNull, @Param("name") String name, @Param("nameNull") Boolean nameNull);
+
 }
 
@@ -0,0 +1,9 @@
+package org.example.smartfridgeuni.repository;
+
+import org.example.smartfridgeuni.model.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+}
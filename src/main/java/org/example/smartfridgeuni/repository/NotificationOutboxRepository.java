@@ -0,0 +1,58 @@
+package org.example.smartfridgeuni.repository;
+
+import org.example.smartfridgeuni.model.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    @Query(value = """
+            SELECT o.* FROM notification_outbox o
+            WHERE o.status = 'PENDING' AND o.next_attempt_at <= :now
+            ORDER BY o.next_attempt_at, o.recipient, o.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<NotificationOutbox> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.nextAttemptAt = :leaseUntil WHERE o.id IN :ids")
+    int lease(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT MIN(o.nextAttemptAt) FROM NotificationOutbox o WHERE o.recipient = :recipient " +
+            "AND o.status = org.example.smartfridgeuni.model.entity.NotificationOutbox.Status.PENDING " +
+            "AND o.attempts = 0 AND o.nextAttemptAt > :now")
+    LocalDateTime findOpenDigestFlushTime(@Param("recipient") String recipient, @Param("now") LocalDateTime now);
+
+    boolean existsByRecipientAndCreatedDateAfter(String recipient, LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = org.example.smartfridgeuni.model.entity.NotificationOutbox.Status.SENT, " +
+            "o.attempts = o.attempts + 1, o.sentDate = :now, o.lastError = NULL WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.attempts = o.attempts + 1, o.nextAttemptAt = :nextAttemptAt, o.lastError = :error WHERE o.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = org.example.smartfridgeuni.model.entity.NotificationOutbox.Status.DEAD, " +
+            "o.attempts = o.attempts + 1, o.lastError = :error WHERE o.id IN :ids")
+    int markDead(@Param("ids") Collection<Long> ids, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.nextAttemptAt = :nextAttemptAt WHERE o.id IN :ids")
+    int defer(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status = org.example.smartfridgeuni.model.entity.NotificationOutbox.Status.SENT AND o.sentDate < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,17 +1,66 @@
 package org.example.smartfridgeuni.repository;
 
+import org.example.smartfridgeuni.model.dto.RecipeSummaryDTO;
 import org.example.smartfridgeuni.model.entity.Recipe;
+import org.example.smartfridgeuni.repository.projection.RecipeMatchCount;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
 
-    @Query("SELECT r FROM Recipe r WHERE (:nameNull is true OR LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND (:prepTimeMin is null or r.prepTime >= :prepTimeMin) AND (:prepTimeMax is null or r.prepTime <= :prepTimeMax)")
-    List<Recipe> findByNameContainingIgnoreCase(@Param("name") String name, @Param("nameNull") Boolean nameNull, @Param("prepTimeMin") Integer prepTimeMin, @Param("prepTimeMax") Integer prepTimeMax);
+    @Query("SELECT new org.example.smartfridgeuni.model.dto.RecipeSummaryDTO(r.id, r.name, r.description, r.prepTime, r.servings, r.createdDate, CAST(SIZE(r.ingredients) AS Integer)) FROM Recipe r WHERE (:nameNull is true OR LOWER(r.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND (:prepTimeMin is null or r.prepTime >= :prepTimeMin) AND (:prepTimeMax is null or r.prepTime <= :prepTimeMax)")
+    List<RecipeSummaryDTO> findSummariesByNameContainingIgnoreCase(@Param("name") String name, @Param("nameNull") Boolean nameNull, @Param("prepTimeMin") Integer prepTimeMin, @Param("prepTimeMax") Integer prepTimeMax);
+
+    @Query("SELECT new org.example.smartfridgeuni.model.dto.RecipeSummaryDTO(r.id, r.name, r.description, r.prepTime, r.servings, r.createdDate, CAST(SIZE(r.ingredients) AS Integer)) FROM Recipe r WHERE r.id IN :ids")
+    List<RecipeSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+            SELECT r.id
+            FROM recipes r
+            WHERE LOWER(r.name) LIKE '%' || LOWER(:query) || '%'
+               OR LOWER(r.name) % LOWER(:query)
+            ORDER BY similarity(LOWER(r.name), LOWER(:query)) DESC, r.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> searchIdsByNameSimilarity(@Param("query") String query, @Param("limit") int limit);
+
+    @EntityGraph(attributePaths = "ingredients")
+    Optional<Recipe> findWithIngredientsById(Long id);
+
+    @Query("SELECT DISTINCT r FROM Recipe r LEFT JOIN FETCH r.ingredients")
+    List<Recipe> findAllWithIngredients();
+
+    @Query("SELECT DISTINCT r FROM Recipe r LEFT JOIN FETCH r.ingredients WHERE r.id IN :ids")
+    List<Recipe> findAllWithIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+            SELECT ri.recipe_id AS recipeId,
+                   COUNT(DISTINCT LOWER(TRIM(ri.ingredient_name))) AS ingredientCount,
+                   COUNT(DISTINCT fridge.name) AS matchedCount,
+                   COUNT(*) OVER () AS totalMatching
+            FROM recipe_ingredients ri
+            LEFT JOIN (SELECT DISTINCT LOWER(TRIM(f.name)) AS name
+                       FROM food_items f
+                       WHERE f.expiration_date >= :today) fridge
+                   ON fridge.name = LOWER(TRIM(ri.ingredient_name))
+            GROUP BY ri.recipe_id
+            HAVING COUNT(DISTINCT fridge.name) > 0
+               AND 100.0 * COUNT(DISTINCT fridge.name) / COUNT(DISTINCT LOWER(TRIM(ri.ingredient_name))) >= :minMatch
+               AND (:canMakeOnly = FALSE OR COUNT(DISTINCT fridge.name) = COUNT(DISTINCT LOWER(TRIM(ri.ingredient_name))))
+            ORDER BY 1.0 * COUNT(DISTINCT fridge.name) / COUNT(DISTINCT LOWER(TRIM(ri.ingredient_name))) DESC, ri.recipe_id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<RecipeMatchCount> findTopMatchCounts(@Param("today") LocalDate today, @Param("minMatch") double minMatch,
+                                              @Param("canMakeOnly") boolean canMakeOnly,
+                                              @Param("limit") int limit, @Param("offset") int offset);
 
 }
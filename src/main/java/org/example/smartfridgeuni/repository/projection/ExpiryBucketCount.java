@@ -0,0 +1,8 @@
+package org.example.smartfridgeuni.repository.projection;
+
+public interface ExpiryBucketCount {
+
+    String getBucket();
+
+    Long getItemCount();
+}
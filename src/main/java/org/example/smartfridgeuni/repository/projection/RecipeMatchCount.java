@@ -0,0 +1,12 @@
+package org.example.smartfridgeuni.repository.projection;
+
+public interface RecipeMatchCount {
+
+    Long getRecipeId();
+
+    Long getIngredientCount();
+
+    Long getMatchedCount();
+
+    Long getTotalMatching();
+}
@@ -0,0 +1,27 @@
+package org.example.smartfridgeuni.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.DayRolloverEvent;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DayRolloverScheduler {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Tbilisi")
+    public void rollover() {
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        log.info("Day rollover to {}", today);
+
+        eventPublisher.publishEvent(new DayRolloverEvent(today));
+    }
+}
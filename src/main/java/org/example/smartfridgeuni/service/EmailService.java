@@ -2,12 +2,16 @@ package org.example.smartfridgeuni.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.smartfridgeuni.exception.CustomException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -18,19 +22,27 @@ public class EmailService {
 
     private final JavaMailSender emailSender;
 
-    public void sendEmail(String to, String subject, String message) {
+    /**
+     * Sends all messages over one SMTP connection and returns the ones that failed with their
+     * cause. An error that prevents the whole batch, such as failed authentication, is thrown.
+     */
+    public Map<SimpleMailMessage, Exception> sendEmails(List<SimpleMailMessage> messages) {
+        messages.forEach(message -> message.setFrom(fromEmail));
         try {
-
-            SimpleMailMessage emailMessage = new SimpleMailMessage();
-            emailMessage.setFrom(fromEmail);
-            emailMessage.setTo(to);
-            emailMessage.setSubject(subject);
-            emailMessage.setText(message);
-            emailSender.send(emailMessage);
-
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage(), e);
-            throw new CustomException("Email sending failed: " + e);
+            emailSender.send(messages.toArray(SimpleMailMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            Map<SimpleMailMessage, Exception> failed = new HashMap<>();
+            e.getFailedMessages().forEach((message, cause) -> {
+                if (message instanceof SimpleMailMessage simpleMessage) {
+                    failed.put(simpleMessage, cause);
+                }
+            });
+            if (failed.isEmpty()) {
+                throw e;
+            }
+            log.error("Failed to send {} of {} emails", failed.size(), messages.size());
+            return failed;
         }
     }
 }
@@ -2,62 +2,115 @@ package org.example.smartfridgeuni.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.ExpiryEvent;
+import org.example.smartfridgeuni.event.ExpiryStage;
+import org.example.smartfridgeuni.exception.CustomException;
 import org.example.smartfridgeuni.model.dto.ExpirationSummaryDTO;
 import org.example.smartfridgeuni.model.dto.FoodItemDTO;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.projection.ExpiryBucketCount;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ExpirationTrackingService {
 
+    private static final int ALL_ITEMS = Integer.MAX_VALUE;
+    static final int MAX_ITEMS_PER_BUCKET = 200;
+    private static final int EXPIRING_SOON_DAYS = 3;
+    private static final int EXPIRING_THIS_WEEK_DAYS = 7;
+
     private final FoodItemService foodItemService;
+    private final FoodItemRepository foodItemRepository;
     private final NotificationService notificationService;
+    private final VersionTracker versionTracker;
 
-    @Scheduled(cron = "0 0 22 * * *", zone = "Asia/Tbilisi")
-    public void checkExpiredItems() {
-        log.info("Running scheduled task to check for expired items");
-
-        try {
-            List<FoodItemDTO> expiredItems = foodItemService.getExpiredItems();
+    private volatile CachedSummary cachedSummary;
 
-            if (!expiredItems.isEmpty()) {
-                log.warn("Found {} expired items", expiredItems.size());
-                notificationService.sendExpiredItemsNotification(expiredItems);
-            } else {
-                log.info("No expired items found");
-            }
+    /**
+     * Runs inside the transaction that claims the crossing, so the claim and the queued
+     * notification commit or roll back together.
+     */
+    @EventListener
+    public void onExpiry(ExpiryEvent event) {
+        List<FoodItemDTO> items = event.getFoodItems().stream()
+                .map(foodItemService::convertToDTO)
+                .collect(Collectors.toList());
 
-            List<FoodItemDTO> expiringSoonItems = foodItemService.getItemsExpiringWithinDays(2);
+        if (event.getStage() == ExpiryStage.EXPIRED) {
+            log.warn("{} items have expired", items.size());
+            notificationService.sendExpiredItemsNotification(items);
+        } else if (event.getStage() == ExpiryStage.EXPIRING_SOON) {
+            log.info("{} items are expiring soon", items.size());
+            notificationService.sendExpiringSoonNotification(items);
+        }
+    }
 
-            if (!expiringSoonItems.isEmpty()) {
-                log.info("Found {} items expiring soon", expiringSoonItems.size());
-                notificationService.sendExpiringSoonNotification(expiringSoonItems);
-            }
+    /**
+     * Counts per expiry bucket come from a single grouped query. The item lists are complete unless
+     * {@code itemsPerBucket} caps them, and {@code 0} returns counts only. The result is kept until the inventory version moves, which
+     * also happens at day rollover, so repeated dashboard polls do not touch the database.
+     */
+    @Transactional(readOnly = true)
+    public ExpirationSummaryDTO getExpirationSummary(Integer itemsPerBucket) {
+        if (itemsPerBucket != null && (itemsPerBucket < 0 || itemsPerBucket > MAX_ITEMS_PER_BUCKET)) {
+            throw new CustomException("Items per bucket must be between 0 and " + MAX_ITEMS_PER_BUCKET);
+        }
+        int perBucket = itemsPerBucket != null ? itemsPerBucket : ALL_ITEMS;
 
-        } catch (Exception e) {
-            log.error("Error occurred while checking expired items", e);
+        long version = versionTracker.getInventoryVersion();
+        CachedSummary cached = cachedSummary;
+        if (cached != null && cached.inventoryVersion() == version && cached.itemsPerBucket() == perBucket) {
+            return cached.summary();
         }
+
+        log.info("Generating expiration summary");
+        ExpirationSummaryDTO summary = buildSummary(perBucket);
+        cachedSummary = new CachedSummary(version, perBucket, summary);
+        return summary;
     }
 
+    private ExpirationSummaryDTO buildSummary(int perBucket) {
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        LocalDate soonEnd = today.plusDays(EXPIRING_SOON_DAYS);
 
-    public ExpirationSummaryDTO getExpirationSummary() {
-        log.info("Generating expiration summary");
+        Map<String, Long> counts = foodItemRepository.countByExpiryBucket(today, soonEnd, today.plusDays(EXPIRING_THIS_WEEK_DAYS))
+                .stream()
+                .collect(Collectors.toMap(ExpiryBucketCount::getBucket, ExpiryBucketCount::getItemCount));
+        long expiredCount = counts.getOrDefault("EXPIRED", 0L);
+        long expiringSoonCount = counts.getOrDefault("EXPIRING_SOON", 0L);
+        long laterThisWeekCount = counts.getOrDefault("LATER_THIS_WEEK", 0L);
 
-        List<FoodItemDTO> expiredItems = foodItemService.getExpiredItems();
-        List<FoodItemDTO> expiringSoonItems = foodItemService.getItemsExpiringWithinDays(3);
-        List<FoodItemDTO> expiringThisWeekItems = foodItemService.getItemsExpiringWithinDays(7);
+        List<FoodItemDTO> expiredItems = new ArrayList<>();
+        List<FoodItemDTO> expiringSoonItems = new ArrayList<>();
+        if (perBucket > 0 && expiredCount + expiringSoonCount > 0) {
+            for (FoodItem item : foodItemRepository.findExpiredAndExpiringSoon(today, soonEnd, perBucket)) {
+                (item.getExpirationDate().isBefore(today) ? expiredItems : expiringSoonItems)
+                        .add(foodItemService.convertToDTO(item));
+            }
+        }
 
         ExpirationSummaryDTO summary = new ExpirationSummaryDTO();
-        summary.setExpiredCount(expiredItems.size());
-        summary.setExpiringSoonCount(expiringSoonItems.size());
-        summary.setExpiringThisWeekCount(expiringThisWeekItems.size());
-        summary.setExpiredItems(expiredItems);
-        summary.setExpiringSoonItems(expiringSoonItems);
+        summary.setExpiredCount(Math.toIntExact(expiredCount));
+        summary.setExpiringSoonCount(Math.toIntExact(expiringSoonCount));
+        summary.setExpiringThisWeekCount(Math.toIntExact(expiringSoonCount + laterThisWeekCount));
+        summary.setExpiredItems(List.copyOf(expiredItems));
+        summary.setExpiringSoonItems(List.copyOf(expiringSoonItems));
 
         return summary;
     }
+
+    private record CachedSummary(long inventoryVersion, int itemsPerBucket, ExpirationSummaryDTO summary) {
+    }
 }
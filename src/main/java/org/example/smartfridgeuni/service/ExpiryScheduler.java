@@ -0,0 +1,216 @@
+package org.example.smartfridgeuni.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.DayRolloverEvent;
+import org.example.smartfridgeuni.event.ExpiryStage;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.model.entity.JobWatermark;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.JobWatermarkRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Day-bucketed priority queue of the next expiry boundary of every food item. Each item sits in
+ * the bucket of the day it next becomes expiring-soon or expired; day rollover pops the due
+ * buckets, so no table scan is needed. Crossings caused by writes are collected and published
+ * on a short tick instead of on the request thread.
+ * <p>
+ * Every crossing is claimed against the item's persisted notification stage before it is
+ * published, and the last processed day is kept as a watermark. At startup only items whose
+ * boundary fell between the watermark and today are scanned, so crossings missed while the
+ * application was down are announced once and nothing is announced twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpiryScheduler {
+
+    static final int EXPIRING_SOON_DAYS = 2;
+    private static final String LAST_RUN_DAY = "expiry.last_run_day";
+
+    private final FoodItemRepository foodItemRepository;
+    private final FoodItemService foodItemService;
+    private final JobWatermarkRepository jobWatermarkRepository;
+
+    private final Map<Long, Tracked> items = new HashMap<>();
+    private final TreeMap<Long, Set<Long>> buckets = new TreeMap<>();
+    private final Map<ExpiryStage, Set<Long>> pending = new EnumMap<>(ExpiryStage.class);
+
+    @PostConstruct
+    public synchronized void load() {
+        items.clear();
+        buckets.clear();
+        pending.clear();
+
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        foodItemRepository.findAll().forEach(item -> track(item, stageOf(item.getExpirationDate(), today), today));
+
+        log.info("Scheduled expiry boundaries for {} food items", items.size());
+    }
+
+    @TransactionalEventListener
+    public synchronized void onFoodItemChanged(FoodItemChangedEvent event) {
+        boolean wasPending = removePending(event.getFoodItemId());
+        Tracked previous = untrack(event.getFoodItemId());
+        if (event.getChangeType() == ChangeType.DELETED) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        FoodItem item = event.getFoodItem();
+        ExpiryStage stage = stageOf(item.getExpirationDate(), today);
+        boolean sameDate = previous != null && previous.item().getExpirationDate().equals(item.getExpirationDate());
+        ExpiryStage previousStage = sameDate ? previous.stage() : ExpiryStage.FRESH;
+
+        track(item, stage, today);
+        if (stage.compareTo(previousStage) > 0 || (sameDate && wasPending && stage != ExpiryStage.FRESH)) {
+            pending.computeIfAbsent(stage, s -> new HashSet<>()).add(item.getId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        LocalDate lastRun = jobWatermarkRepository.findById(LAST_RUN_DAY)
+                .map(watermark -> LocalDate.ofEpochDay(watermark.getValue()))
+                .orElse(today);
+
+        List<FoodItem> candidates = foodItemRepository.findExpiryCandidates(lastRun, today.plusDays(EXPIRING_SOON_DAYS));
+        synchronized (this) {
+            for (FoodItem item : candidates) {
+                ExpiryStage stage = stageOf(item.getExpirationDate(), today);
+                if (stage.compareTo(item.getNotifiedStage()) > 0) {
+                    pending.computeIfAbsent(stage, s -> new HashSet<>()).add(item.getId());
+                }
+            }
+        }
+        log.info("Expiry catch-up since {} checked {} food items", lastRun, candidates.size());
+
+        publishPending();
+        saveLastRunDay(today);
+    }
+
+    @EventListener
+    public void onDayRollover(DayRolloverEvent event) {
+        LocalDate today = event.getToday();
+        synchronized (this) {
+            Iterator<Set<Long>> due = buckets.headMap(today.toEpochDay(), true).values().iterator();
+            List<Long> dueIds = new ArrayList<>();
+            while (due.hasNext()) {
+                dueIds.addAll(due.next());
+                due.remove();
+            }
+
+            for (Long id : dueIds) {
+                Tracked tracked = items.remove(id);
+                ExpiryStage stage = stageOf(tracked.item().getExpirationDate(), today);
+                track(tracked.item(), stage, today);
+                if (stage.compareTo(tracked.stage()) > 0) {
+                    pending.computeIfAbsent(stage, s -> new HashSet<>()).add(id);
+                }
+            }
+            log.info("Day rollover to {} moved {} food items across an expiry boundary", today, dueIds.size());
+        }
+        publishPending();
+        saveLastRunDay(today);
+    }
+
+    @Scheduled(fixedDelayString = "${expiry.flush-interval:PT1M}")
+    public void publishPending() {
+        Map<ExpiryStage, Set<Long>> crossed;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            crossed = new EnumMap<>(pending);
+            pending.clear();
+        }
+
+        crossed.forEach((stage, ids) -> foodItemService.claimExpiryNotifications(ids, stage));
+    }
+
+    private void saveLastRunDay(LocalDate today) {
+        jobWatermarkRepository.save(new JobWatermark(LAST_RUN_DAY, today.toEpochDay()));
+    }
+
+    static ExpiryStage stageOf(LocalDate expirationDate, LocalDate today) {
+        if (expirationDate.isBefore(today)) {
+            return ExpiryStage.EXPIRED;
+        }
+        return expirationDate.isAfter(today.plusDays(EXPIRING_SOON_DAYS)) ? ExpiryStage.FRESH : ExpiryStage.EXPIRING_SOON;
+    }
+
+    private void track(FoodItem item, ExpiryStage stage, LocalDate today) {
+        Long boundaryDay = switch (stage) {
+            case FRESH -> item.getExpirationDate().minusDays(EXPIRING_SOON_DAYS).toEpochDay();
+            case EXPIRING_SOON -> item.getExpirationDate().plusDays(1).toEpochDay();
+            case EXPIRED -> null;
+        };
+        if (boundaryDay != null) {
+            boundaryDay = Math.max(boundaryDay, today.toEpochDay() + 1);
+            buckets.computeIfAbsent(boundaryDay, d -> new HashSet<>()).add(item.getId());
+        }
+        items.put(item.getId(), new Tracked(item, stage, boundaryDay));
+    }
+
+    synchronized LocalDate nextBoundaryOf(Long id) {
+        Tracked tracked = items.get(id);
+        return tracked != null && tracked.boundaryDay() != null ? LocalDate.ofEpochDay(tracked.boundaryDay()) : null;
+    }
+
+    synchronized Set<Long> pendingFor(ExpiryStage stage) {
+        return Set.copyOf(pending.getOrDefault(stage, Set.of()));
+    }
+
+    /**
+     * Drops a queued crossing that is no longer valid because the item was edited or deleted
+     * before the flush; the caller re-queues it if it still applies.
+     */
+    private boolean removePending(Long id) {
+        boolean removed = false;
+        Iterator<Set<Long>> stages = pending.values().iterator();
+        while (stages.hasNext()) {
+            Set<Long> ids = stages.next();
+            removed |= ids.remove(id);
+            if (ids.isEmpty()) {
+                stages.remove();
+            }
+        }
+        return removed;
+    }
+
+    private Tracked untrack(Long id) {
+        Tracked tracked = items.remove(id);
+        if (tracked != null && tracked.boundaryDay() != null) {
+            Set<Long> bucket = buckets.get(tracked.boundaryDay());
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                buckets.remove(tracked.boundaryDay());
+            }
+        }
+        return tracked;
+    }
+
+    private record Tracked(FoodItem item, ExpiryStage stage, Long boundaryDay) {
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.smartfridgeuni.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.exception.CustomException;
+import org.example.smartfridgeuni.model.dto.FoodItemChangeDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemChangesDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemDTO;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.model.entity.FoodItemChange;
+import org.example.smartfridgeuni.model.entity.JobWatermark;
+import org.example.smartfridgeuni.repository.FoodItemChangeRepository;
+import org.example.smartfridgeuni.repository.JobWatermarkRepository;
+import org.example.smartfridgeuni.util.ChangeCursor;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only log of food item changes for delta sync. Entries are written in the same transaction
+ * as the change and read in {@code (txid, id)} order, but only up to the oldest transaction still
+ * running, so an entry that commits late can never land behind a cursor a client already holds.
+ * Compaction keeps the latest entry per item and eventually drops delete tombstones; cursors older
+ * than the dropped tombstones are rejected so the client resyncs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FoodItemChangeLogService {
+
+    private static final int MAX_CHANGES_LIMIT = 1000;
+    private static final String TOMBSTONE_FLOOR = "food_item_changes.tombstone_floor";
+
+    private final FoodItemChangeRepository foodItemChangeRepository;
+    private final JobWatermarkRepository jobWatermarkRepository;
+
+    @Value("${changes.tombstone-retention:7d}")
+    private Duration tombstoneRetention;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onFoodItemChanged(FoodItemChangedEvent event) {
+        FoodItemChange change = new FoodItemChange();
+        change.setFoodItemId(event.getFoodItemId());
+        change.setChangeType(event.getChangeType());
+
+        FoodItem foodItem = event.getFoodItem();
+        if (foodItem != null) {
+            change.setName(foodItem.getName());
+            change.setCategory(foodItem.getCategory());
+            change.setQuantity(foodItem.getQuantity());
+            change.setUnit(foodItem.getUnit());
+            change.setExpirationDate(foodItem.getExpirationDate());
+            change.setAddedDate(foodItem.getAddedDate());
+        }
+        foodItemChangeRepository.save(change);
+    }
+
+    @Transactional(readOnly = true)
+    public FoodItemChangesDTO getChanges(String since, int limit) {
+        log.info("Retrieving food item changes since: {} (limit: {})", since, limit);
+
+        if (limit < 1 || limit > MAX_CHANGES_LIMIT) {
+            throw new CustomException("Limit must be between 1 and " + MAX_CHANGES_LIMIT);
+        }
+
+        ChangeCursor cursor = ChangeCursor.START;
+        if (since != null && !since.isBlank()) {
+            cursor = ChangeCursor.decode(since);
+            long tombstoneFloor = jobWatermarkRepository.findById(TOMBSTONE_FLOOR).map(JobWatermark::getValue).orElse(0L);
+            if (cursor.txid() <= tombstoneFloor) {
+                throw new CustomException("Cursor is too old, resync without 'since'", HttpStatus.GONE);
+            }
+        }
+
+        List<FoodItemChange> changes = foodItemChangeRepository.findSettledAfter(cursor.txid(), cursor.id(), limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        ChangeCursor nextCursor = changes.isEmpty()
+                ? cursor
+                : new ChangeCursor(changes.get(changes.size() - 1).getTxid(), changes.get(changes.size() - 1).getId());
+        List<FoodItemChangeDTO> dtos = changes.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new FoodItemChangesDTO(dtos, nextCursor.encode(), hasMore);
+    }
+
+    @Scheduled(cron = "${changes.compaction-cron:0 30 3 * * *}", zone = "Asia/Tbilisi")
+    @Transactional
+    public void compact() {
+        int superseded = foodItemChangeRepository.deleteSuperseded();
+
+        LocalDateTime cutoff = LocalDateTime.now(DateUtils.ASIA_TBILISI).minus(tombstoneRetention);
+        Long maxTombstoneTxid = foodItemChangeRepository.findMaxTombstoneTxidBefore(cutoff);
+        int tombstones = 0;
+        if (maxTombstoneTxid != null) {
+            JobWatermark floor = jobWatermarkRepository.findById(TOMBSTONE_FLOOR)
+                    .orElseGet(() -> new JobWatermark(TOMBSTONE_FLOOR, 0L));
+            floor.setValue(Math.max(floor.getValue(), maxTombstoneTxid));
+            jobWatermarkRepository.save(floor);
+            tombstones = foodItemChangeRepository.deleteTombstones(maxTombstoneTxid, cutoff);
+        }
+
+        log.info("Compacted food item change log: removed {} superseded entries and {} tombstones", superseded, tombstones);
+    }
+
+    private FoodItemChangeDTO convertToDTO(FoodItemChange change) {
+        FoodItemDTO item = null;
+        if (change.getChangeType() != ChangeType.DELETED) {
+            LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+            item = new FoodItemDTO(change.getFoodItemId(), change.getName(), change.getCategory(), change.getQuantity(),
+                    change.getUnit(), change.getExpirationDate(), change.getAddedDate(),
+                    change.getExpirationDate().isBefore(today), (long) today.until(change.getExpirationDate()).getDays());
+        }
+        return new FoodItemChangeDTO(change.getFoodItemId(), change.getChangeType().name(), item, change.getChangedDate());
+    }
+}
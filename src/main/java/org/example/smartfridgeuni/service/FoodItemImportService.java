@@ -0,0 +1,266 @@
+package org.example.smartfridgeuni.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.exception.CustomException;
+import org.example.smartfridgeuni.model.dto.FoodItemRequest;
+import org.example.smartfridgeuni.model.dto.ImportJobDTO;
+import org.example.smartfridgeuni.model.entity.ImportJob;
+import org.example.smartfridgeuni.repository.ImportJobRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports food items from a CSV or NDJSON body one line at a time. Every {@link #BATCH_SIZE} lines the
+ * valid records are inserted and the job's progress is saved in the same transaction, so a failed
+ * import can be resumed by re-sending the file: lines up to the last committed one are skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FoodItemImportService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_RECORDED_ERRORS = 100;
+    private static final Duration STALE_AFTER = Duration.ofMinutes(5);
+    private static final List<String> CSV_COLUMNS = List.of("name", "category", "quantity", "unit", "expirationdate");
+
+    private final FoodItemService foodItemService;
+    private final ImportJobRepository importJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * A CSV header without the required columns is rejected before any job is created or resumed,
+     * since re-sending the same file could never get past it.
+     */
+    public ImportJobDTO importFoodItems(InputStream body, ImportJob.Format format, Long resumeFrom) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = format == ImportJob.Format.CSV ? readCsvHeader(reader) : null;
+
+        ImportJob job = resumeFrom != null ? resumeJob(resumeFrom, format) : startJob(format);
+        log.info("Running food item import job {} ({}) from line {}", job.getId(), format, job.getLastCommittedLine() + 1);
+
+        long skipUntil = job.getLastCommittedLine();
+        List<FoodItemRequest> batch = new ArrayList<>(BATCH_SIZE);
+        List<String> batchErrors = new ArrayList<>();
+        long batchErrorCount = 0;
+        long lineNumber = columns != null ? 1 : 0;
+
+        try (reader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= skipUntil || line.isBlank()) {
+                    continue;
+                }
+
+                List<String> errors = parseAndValidate(line, format, columns, batch);
+                if (!errors.isEmpty()) {
+                    batchErrorCount++;
+                    if (job.getErrors().size() + batchErrors.size() < MAX_RECORDED_ERRORS) {
+                        batchErrors.add("line " + lineNumber + ": " + String.join(", ", errors));
+                    }
+                }
+
+                if (lineNumber - job.getLastCommittedLine() >= BATCH_SIZE) {
+                    job = commitBatch(job, batch, batchErrors, batchErrorCount, lineNumber, ImportJob.Status.RUNNING);
+                    batch.clear();
+                    batchErrors.clear();
+                    batchErrorCount = 0;
+                }
+            }
+
+            job = commitBatch(job, batch, batchErrors, batchErrorCount, Math.max(lineNumber, skipUntil), ImportJob.Status.COMPLETED);
+            log.info("Completed food item import job {}: {} imported, {} rejected", job.getId(), job.getImportedCount(), job.getErrorCount());
+        } catch (IOException | RuntimeException e) {
+            log.error("Food item import job {} failed after line {}", job.getId(), job.getLastCommittedLine(), e);
+            job = markFailed(job.getId(), e.getMessage());
+        }
+
+        return convertToDTO(job);
+    }
+
+    public ImportJobDTO getImportJob(Long id) {
+        return importJobRepository.findById(id)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new CustomException("Import job with ID " + id + " not found", HttpStatus.NOT_FOUND));
+    }
+
+    private ImportJob startJob(ImportJob.Format format) {
+        ImportJob job = new ImportJob();
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setFormat(format);
+        return importJobRepository.save(job);
+    }
+
+    private ImportJob resumeJob(Long id, ImportJob.Format format) {
+        ImportJob job = importJobRepository.findById(id)
+                .orElseThrow(() -> new CustomException("Import job with ID " + id + " not found", HttpStatus.NOT_FOUND));
+
+        if (job.getFormat() != format) {
+            throw new CustomException("Import job with ID " + id + " was started as " + job.getFormat());
+        }
+        boolean stale = job.getUpdatedDate().isBefore(LocalDateTime.now(DateUtils.ASIA_TBILISI).minus(STALE_AFTER));
+        if (job.getStatus() == ImportJob.Status.COMPLETED
+                || (job.getStatus() == ImportJob.Status.RUNNING && !stale)) {
+            throw new CustomException("Import job with ID " + id + " is " + job.getStatus() + " and cannot be resumed",
+                    HttpStatus.CONFLICT);
+        }
+
+        job.setStatus(ImportJob.Status.RUNNING);
+        job.setFailureReason(null);
+        job.setUpdatedDate(LocalDateTime.now(DateUtils.ASIA_TBILISI));
+        return importJobRepository.save(job);
+    }
+
+    private ImportJob commitBatch(ImportJob job, List<FoodItemRequest> batch, List<String> errors, long errorCount,
+                                  long lineNumber, ImportJob.Status status) {
+        return transactionTemplate.execute(tx -> {
+            foodItemService.saveInBatches(batch);
+
+            job.setImportedCount(job.getImportedCount() + batch.size());
+            job.setErrorCount(job.getErrorCount() + errorCount);
+            job.getErrors().addAll(errors);
+            job.setLastCommittedLine(lineNumber);
+            job.setStatus(status);
+            job.setUpdatedDate(LocalDateTime.now(DateUtils.ASIA_TBILISI));
+            return importJobRepository.save(job);
+        });
+    }
+
+    private ImportJob markFailed(Long id, String reason) {
+        return transactionTemplate.execute(tx -> {
+            ImportJob job = importJobRepository.findById(id).orElseThrow();
+            job.setStatus(ImportJob.Status.FAILED);
+            job.setFailureReason(reason != null && reason.length() > 500 ? reason.substring(0, 500) : reason);
+            job.setUpdatedDate(LocalDateTime.now(DateUtils.ASIA_TBILISI));
+            return importJobRepository.save(job);
+        });
+    }
+
+    private List<String> parseAndValidate(String line, ImportJob.Format format, Map<String, Integer> columns,
+                                          List<FoodItemRequest> batch) {
+        FoodItemRequest request;
+        try {
+            request = format == ImportJob.Format.CSV
+                    ? parseCsvRecord(line, columns)
+                    : objectMapper.readValue(line, FoodItemRequest.class);
+        } catch (IOException | IllegalArgumentException | DateTimeParseException e) {
+            return List.of("could not parse record");
+        }
+
+        List<String> errors = foodItemService.validate(request);
+        if (errors.isEmpty()) {
+            batch.add(request);
+        }
+        return errors;
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) {
+        String line;
+        try {
+            line = reader.readLine();
+        } catch (IOException e) {
+            throw new CustomException("Could not read the CSV header: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+        return parseCsvHeader(line != null ? line : "");
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new CustomException("CSV header must contain the columns " + String.join(", ", CSV_COLUMNS), HttpStatus.BAD_REQUEST);
+        }
+        return columns;
+    }
+
+    private FoodItemRequest parseCsvRecord(String line, Map<String, Integer> columns) {
+        List<String> fields = parseCsvLine(line);
+
+        FoodItemRequest request = new FoodItemRequest();
+        request.setName(field(fields, columns, "name"));
+        request.setCategory(field(fields, columns, "category"));
+        request.setUnit(field(fields, columns, "unit"));
+        String quantity = field(fields, columns, "quantity");
+        request.setQuantity(quantity != null ? Double.valueOf(quantity) : null);
+        String expirationDate = field(fields, columns, "expirationdate");
+        request.setExpirationDate(expirationDate != null ? LocalDate.parse(expirationDate) : null);
+        return request;
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private ImportJobDTO convertToDTO(ImportJob job) {
+        return new ImportJobDTO(
+                job.getId(),
+                job.getStatus().name(),
+                job.getFormat().name(),
+                job.getLastCommittedLine(),
+                job.getImportedCount(),
+                job.getErrorCount(),
+                List.copyOf(job.getErrors()),
+                job.getFailureReason(),
+                job.getStartedDate(),
+                job.getUpdatedDate()
+        );
+    }
+}
@@ -1,26 +1,60 @@
 package org.example.smartfridgeuni.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.ExpiryEvent;
+import org.example.smartfridgeuni.event.ExpiryStage;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
 import org.example.smartfridgeuni.exception.CustomException;
+import org.example.smartfridgeuni.model.dto.FoodItemBatchItemResultDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemBatchResultDTO;
 import org.example.smartfridgeuni.model.dto.FoodItemDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemPageDTO;
 import org.example.smartfridgeuni.model.dto.FoodItemRequest;
 import org.example.smartfridgeuni.model.entity.FoodItem;
 import org.example.smartfridgeuni.repository.FoodItemRepository;
 import org.example.smartfridgeuni.util.DateUtils;
+import org.example.smartfridgeuni.util.FoodItemCursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FoodItemService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final int INSERT_BATCH_SIZE = 50;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    static final double USED_UP_EPSILON = 1e-9;
+
     private final FoodItemRepository foodItemRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final SearchEngine searchEngine;
+    private final LookupCache lookupCache;
 
     @Transactional
     public FoodItemDTO addFoodItem(FoodItemRequest foodItemDTO) {
@@ -28,11 +62,75 @@ public class FoodItemService {
 
         FoodItem foodItem = convertToEntity(foodItemDTO);
         FoodItem savedFoodItem = foodItemRepository.save(foodItem);
+        eventPublisher.publishEvent(FoodItemChangedEvent.saved(ChangeType.CREATED, savedFoodItem));
 
         log.info("Successfully added food item with ID: {}", savedFoodItem.getId());
         return convertToDTO(savedFoodItem);
     }
 
+    /**
+     * Validates every item up front and inserts the batch in one transaction only if all of them
+     * are valid. Entities are flushed and cleared every {@link #INSERT_BATCH_SIZE} rows so Hibernate
+     * sends JDBC batches and the persistence context stays small.
+     */
+    @Transactional
+    public FoodItemBatchResultDTO addFoodItems(List<FoodItemRequest> requests) {
+        log.info("Adding batch of {} food items", requests.size());
+
+        List<FoodItemBatchItemResultDTO> results = new ArrayList<>(requests.size());
+        boolean valid = true;
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            valid &= errors.isEmpty();
+            results.add(new FoodItemBatchItemResultDTO(i, errors.isEmpty(), null, errors.isEmpty() ? null : errors));
+        }
+        if (!valid) {
+            log.info("Rejected batch of {} food items due to validation errors", requests.size());
+            return new FoodItemBatchResultDTO(requests.size(), 0, results);
+        }
+
+        long start = System.nanoTime();
+        List<FoodItem> savedFoodItems = saveInBatches(requests);
+        for (int i = 0; i < savedFoodItems.size(); i++) {
+            results.get(i).setItem(convertToDTO(savedFoodItems.get(i)));
+        }
+
+        log.info("Successfully added {} food items in {} ms", requests.size(), (System.nanoTime() - start) / 1_000_000);
+        return new FoodItemBatchResultDTO(requests.size(), requests.size(), results);
+    }
+
+    /**
+     * Inserts already validated items within the caller's transaction, {@link #INSERT_BATCH_SIZE}
+     * rows per JDBC batch, and publishes a change event for each.
+     */
+    List<FoodItem> saveInBatches(List<FoodItemRequest> requests) {
+        List<FoodItem> savedFoodItems = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += INSERT_BATCH_SIZE) {
+            List<FoodItem> chunk = requests.subList(from, Math.min(from + INSERT_BATCH_SIZE, requests.size())).stream()
+                    .map(this::convertToEntity)
+                    .collect(Collectors.toList());
+            foodItemRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+
+            for (FoodItem savedFoodItem : chunk) {
+                eventPublisher.publishEvent(FoodItemChangedEvent.saved(ChangeType.CREATED, savedFoodItem));
+            }
+            savedFoodItems.addAll(chunk);
+        }
+        return savedFoodItems;
+    }
+
+    List<String> validate(FoodItemRequest request) {
+        if (request == null) {
+            return List.of("Item is required");
+        }
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<FoodItemDTO> getAllFoodItems() {
         log.info("Retrieving all food items");
@@ -43,13 +141,13 @@ public class FoodItemService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public FoodItemDTO getFoodItemById(Long id) {
         log.info("Retrieving food item with ID: {}", id);
 
-        return foodItemRepository.findById(id)
+        FoodItemDTO cached = lookupCache.getFoodItem(id, () -> foodItemRepository.findById(id)
                 .map(this::convertToDTO)
-                .orElseThrow(() -> new CustomException("Food item with ID " + id + " not found"));
+                .orElseThrow(() -> new CustomException("Food item with ID " + id + " not found")));
+        return withCurrentExpiry(cached);
     }
 
     @Transactional
@@ -58,6 +156,7 @@ public class FoodItemService {
 
         if (foodItemRepository.existsById(id)) {
             foodItemRepository.deleteById(id);
+            eventPublisher.publishEvent(FoodItemChangedEvent.deleted(id));
             log.info("Successfully deleted food item with ID: {}", id);
         } else {
             throw new CustomException("Food item with ID " + id + " not found");
@@ -70,6 +169,9 @@ public class FoodItemService {
 
         return foodItemRepository.findById(id)
                 .map(existingItem -> {
+                    if (!existingItem.getExpirationDate().equals(foodItemDTO.getExpirationDate())) {
+                        foodItemRepository.updateNotifiedStage(List.of(id), ExpiryStage.FRESH.name());
+                    }
                     existingItem.setName(foodItemDTO.getName());
                     existingItem.setCategory(foodItemDTO.getCategory());
                     existingItem.setQuantity(foodItemDTO.getQuantity());
@@ -77,11 +179,64 @@ public class FoodItemService {
                     existingItem.setExpirationDate(foodItemDTO.getExpirationDate());
 
                     FoodItem updatedItem = foodItemRepository.save(existingItem);
+                    eventPublisher.publishEvent(FoodItemChangedEvent.saved(ChangeType.UPDATED, updatedItem));
                     log.info("Successfully updated food item with ID: {}", id);
                     return convertToDTO(updatedItem);
                 }).orElseThrow(() -> new CustomException("Food item with ID " + id + " not found"));
     }
 
+    /**
+     * Subtracts {@code amount} with one conditional {@code UPDATE ... RETURNING}, so concurrent
+     * consumers never lose updates or drive the quantity negative, and a successful call is a
+     * single statement. An item that is used up is removed.
+     */
+    @Transactional
+    public FoodItemDTO consumeFoodItem(Long id, double amount) {
+        log.info("Consuming {} of food item with ID: {}", amount, id);
+
+        FoodItem consumedItem = foodItemRepository.consumeQuantity(id, amount).orElseThrow(() -> {
+            FoodItem foodItem = foodItemRepository.findById(id)
+                    .orElseThrow(() -> new CustomException("Food item with ID " + id + " not found"));
+            return new CustomException("Insufficient quantity of " + foodItem.getName() + ": "
+                    + foodItem.getQuantity() + " " + foodItem.getUnit() + " available, " + amount + " requested",
+                    HttpStatus.CONFLICT);
+        });
+
+        if (consumedItem.getQuantity() <= USED_UP_EPSILON) {
+            foodItemRepository.delete(consumedItem);
+            eventPublisher.publishEvent(FoodItemChangedEvent.deleted(id));
+            log.info("Food item with ID: {} is used up and was removed", id);
+        } else {
+            eventPublisher.publishEvent(FoodItemChangedEvent.saved(ChangeType.UPDATED, consumedItem));
+        }
+
+        return convertToDTO(consumedItem);
+    }
+
+    /**
+     * Marks the given items as notified for {@code stage} and publishes an {@link ExpiryEvent} for
+     * those that had not been notified for it yet, so every crossing is announced exactly once
+     * across restarts and its notification is queued in the same transaction. Rows whose locked
+     * expiration date no longer puts them in {@code stage} were edited after being queued and
+     * are left alone.
+     */
+    @Transactional
+    public List<FoodItem> claimExpiryNotifications(Collection<Long> ids, ExpiryStage stage) {
+        List<ExpiryStage> earlierStages = Arrays.stream(ExpiryStage.values())
+                .filter(s -> s.compareTo(stage) < 0)
+                .collect(Collectors.toList());
+
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        List<FoodItem> claimed = foodItemRepository.findByIdInAndNotifiedStageInForUpdate(ids, earlierStages).stream()
+                .filter(item -> ExpiryScheduler.stageOf(item.getExpirationDate(), today) == stage)
+                .collect(Collectors.toList());
+        if (!claimed.isEmpty()) {
+            foodItemRepository.updateNotifiedStage(claimed.stream().map(FoodItem::getId).collect(Collectors.toList()), stage.name());
+            eventPublisher.publishEvent(new ExpiryEvent(stage, claimed));
+        }
+        return claimed;
+    }
+
     @Transactional(readOnly = true)
     public List<FoodItemDTO> getExpiredItems() {
         log.info("Retrieving expired food items");
@@ -129,16 +284,93 @@ public class FoodItemService {
     }
 
     @Transactional(readOnly = true)
-    public List<FoodItemDTO> searchFoodItems(String name) {
-        log.info("Searching food items by name: {}", name);
+    public List<FoodItemDTO> searchFoodItems(String query, int limit) {
+        log.info("Searching food items by name: {} (limit: {})", query, limit);
 
-        List<FoodItem> items = foodItemRepository.findByNameContainingIgnoreCase(name);
-        return items.stream()
+        if (query == null || query.isBlank()) {
+            throw new CustomException("Search query is required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new CustomException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        List<Long> rankedIds = searchEngine.searchFoodItemIds(query.trim(), limit);
+        Map<Long, FoodItem> items = foodItemRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(FoodItem::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lists food items ordered by {@code (expirationDate, id)} with all filters combinable.
+     * Pages by keyset when {@code limit} or {@code cursor} is given; otherwise returns every match.
+     */
+    @Transactional(readOnly = true)
+    public FoodItemPageDTO getFoodItems(String category, String search, LocalDate expiresFrom, LocalDate expiresTo,
+                                        Integer limit, String cursor) {
+        log.info("Retrieving food items (category: {}, search: {}, expiresFrom: {}, expiresTo: {}, limit: {}, cursor: {})",
+                category, search, expiresFrom, expiresTo, limit, cursor);
+
+        if (expiresFrom != null && expiresTo != null && expiresFrom.isAfter(expiresTo)) {
+            throw new CustomException("expiresFrom must not be after expiresTo");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new CustomException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        boolean paged = limit != null || cursor != null;
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        boolean categoryNull = category == null || category.trim().isEmpty();
+        boolean searchNull = search == null || search.trim().isEmpty();
+        LocalDate from = expiresFrom != null ? expiresFrom : MIN_DATE;
+        LocalDate to = expiresTo != null ? expiresTo : MAX_DATE;
+        FoodItemCursor after = cursor != null ? FoodItemCursor.decode(cursor) : new FoodItemCursor(from, 0L);
+
+        List<FoodItem> items = foodItemRepository.findPage(
+                categoryNull ? "null" : category, categoryNull, searchNull ? "null" : search, searchNull,
+                from, to, after.expirationDate(), after.id(),
+                paged ? Limit.of(pageSize + 1) : Limit.unlimited());
+
+        String nextCursor = null;
+        if (paged && items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            FoodItem last = items.get(pageSize - 1);
+            nextCursor = new FoodItemCursor(last.getExpirationDate(), last.getId()).encode();
+        }
+
+        List<FoodItemDTO> dtos = items.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return new FoodItemPageDTO(dtos, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamFoodItems(String category, String search, Consumer<FoodItemDTO> consumer) {
+        log.info("Streaming food items (category: {}, search: {})", category, search);
+
+        boolean categoryNull = category == null || category.trim().isEmpty();
+        boolean searchNull = search == null || search.trim().isEmpty();
+
+        try (Stream<FoodItem> items = foodItemRepository.streamByCategoryAndName(
+                categoryNull ? "null" : category, categoryNull, searchNull ? "null" : search, searchNull)) {
+            items.forEach(item -> {
+                consumer.accept(convertToDTO(item));
+                entityManager.detach(item);
+            });
+        }
+    }
+
+    private FoodItemDTO withCurrentExpiry(FoodItemDTO cached) {
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        return new FoodItemDTO(cached.getId(), cached.getName(), cached.getCategory(), cached.getQuantity(),
+                cached.getUnit(), cached.getExpirationDate(), cached.getAddedDate(),
+                cached.getExpirationDate().isBefore(today), (long) today.until(cached.getExpirationDate()).getDays());
     }
 
-    private FoodItemDTO convertToDTO(FoodItem foodItem) {
+    FoodItemDTO convertToDTO(FoodItem foodItem) {
         FoodItemDTO dto = new FoodItemDTO();
         dto.setId(foodItem.getId());
         dto.setName(foodItem.getName());
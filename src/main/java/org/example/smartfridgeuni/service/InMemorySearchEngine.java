@@ -0,0 +1,77 @@
+package org.example.smartfridgeuni.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.event.RecipeChangedEvent;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.example.smartfridgeuni.util.TrigramIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Trigram search kept in memory for databases without {@code pg_trgm}. Loaded once at startup
+ * and kept current from committed change events.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemorySearchEngine implements SearchEngine {
+
+    private static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private final FoodItemRepository foodItemRepository;
+    private final RecipeRepository recipeRepository;
+
+    private final TrigramIndex foodItemNames = new TrigramIndex();
+    private final TrigramIndex recipeNames = new TrigramIndex();
+
+    @PostConstruct
+    public void rebuild() {
+        foodItemNames.clear();
+        recipeNames.clear();
+        foodItemRepository.findAll().forEach(item -> foodItemNames.put(item.getId(), item.getName()));
+        recipeRepository.findAll().forEach(recipe -> recipeNames.put(recipe.getId(), nameOf(recipe.getName())));
+
+        log.info("Built in-memory name search index");
+    }
+
+    @TransactionalEventListener
+    public void onFoodItemChanged(FoodItemChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            foodItemNames.remove(event.getFoodItemId());
+        } else {
+            foodItemNames.put(event.getFoodItemId(), event.getFoodItem().getName());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            recipeNames.remove(event.getRecipeId());
+        } else {
+            recipeNames.put(event.getRecipeId(), nameOf(event.getRecipe().getName()));
+        }
+    }
+
+    @Override
+    public List<Long> searchFoodItemIds(String query, int limit) {
+        return foodItemNames.search(query, SIMILARITY_THRESHOLD, limit);
+    }
+
+    @Override
+    public List<Long> searchRecipeIds(String query, int limit) {
+        return recipeNames.search(query, SIMILARITY_THRESHOLD, limit);
+    }
+
+    private static String nameOf(String name) {
+        return name != null ? name : "";
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.smartfridgeuni.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.event.RecipeChangedEvent;
+import org.example.smartfridgeuni.model.dto.FoodItemDTO;
+import org.example.smartfridgeuni.model.dto.RecipeDTO;
+import org.example.smartfridgeuni.util.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of rendered single-item lookups, invalidated as soon as a write to the
+ * item commits.
+ */
+@Component
+public class LookupCache implements MeterBinder {
+
+    private final LruCache<Long, FoodItemDTO> foodItems;
+    private final LruCache<Long, RecipeDTO> recipes;
+
+    public LookupCache(@Value("${lookup.cache.max-size:10000}") int maxSize,
+                       @Value("${lookup.cache.ttl:10m}") Duration ttl) {
+        this.foodItems = new LruCache<>(maxSize, ttl);
+        this.recipes = new LruCache<>(maxSize, ttl);
+    }
+
+    public FoodItemDTO getFoodItem(Long id, Supplier<FoodItemDTO> loader) {
+        return foodItems.get(id, loader);
+    }
+
+    public RecipeDTO getRecipe(Long id, Supplier<RecipeDTO> loader) {
+        return recipes.get(id, loader);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onFoodItemChanged(FoodItemChangedEvent event) {
+        foodItems.invalidate(event.getFoodItemId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        recipes.invalidate(event.getRecipeId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "food-items", foodItems);
+        bind(registry, "recipes", recipes);
+    }
+
+    private static void bind(MeterRegistry registry, String name, LruCache<Long, ?> cache) {
+        FunctionCounter.builder("lookup.cache.hits", cache, LruCache::hitCount).tag("cache", name).register(registry);
+        FunctionCounter.builder("lookup.cache.misses", cache, LruCache::missCount).tag("cache", name).register(registry);
+        FunctionCounter.builder("lookup.cache.evictions", cache, LruCache::evictionCount).tag("cache", name).register(registry);
+        Gauge.builder("lookup.cache.size", cache, LruCache::size).tag("cache", name).register(registry);
+    }
+}
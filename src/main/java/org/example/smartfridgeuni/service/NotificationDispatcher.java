@@ -0,0 +1,238 @@
+package org.example.smartfridgeuni.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.model.entity.NotificationOutbox;
+import org.example.smartfridgeuni.repository.NotificationOutboxRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.example.smartfridgeuni.util.LruCache;
+import org.example.smartfridgeuni.util.MessageTemplate;
+import org.example.smartfridgeuni.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers the notification outbox. Due rows are claimed with {@code FOR UPDATE SKIP LOCKED} and
+ * leased by pushing their next attempt past the delivery timeout, so several instances can poll
+ * the same table and a row whose sender died is picked up again once the lease runs out. Rows
+ * claimed for the same recipient are merged into one digest, and digests are sent in chunks that
+ * share an SMTP connection on a bounded pool, never on the scheduler thread. Failures back off
+ * exponentially until the rows are dead-lettered, and each recipient is rate limited per digest.
+ * Delivery is at least once: a crash between the SMTP hand-off and marking the rows sent resends them.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MAX_TRACKED_RECIPIENTS = 10000;
+    private static final MessageTemplate DIGEST_SUBJECT = MessageTemplate.compile("Smart fridge digest: {0} notifications");
+    private static final MessageTemplate DIGEST_SECTION = MessageTemplate.compile("{0}\n\n{1}\n\n");
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor senderPool;
+    private final Semaphore inFlight;
+    private final LruCache<String, TokenBucket> recipientLimits = new LruCache<>(MAX_TRACKED_RECIPIENTS);
+
+    @Value("${notification.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${notification.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${notification.outbox.per-recipient-limit:30}")
+    private int perRecipientLimit;
+
+    @Value("${notification.outbox.per-recipient-period:PT1H}")
+    private Duration perRecipientPeriod;
+
+    @Value("${notification.outbox.send-chunk-size:20}")
+    private int sendChunkSize;
+
+    @Value("${notification.outbox.sent-retention:7d}")
+    private Duration sentRetention;
+
+    public NotificationDispatcher(NotificationOutboxRepository outboxRepository, EmailService emailService,
+                                  TransactionTemplate transactionTemplate,
+                                  @Qualifier("notificationSenderPool") ThreadPoolExecutor senderPool,
+                                  @Value("${notification.outbox.batch-size:50}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.senderPool = senderPool;
+        this.inFlight = new Semaphore(batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        int capacity = inFlight.drainPermits();
+        if (capacity == 0) {
+            return;
+        }
+
+        List<Digest> digests = new ArrayList<>();
+        int queuedRows = 0;
+        try {
+            Map<String, List<NotificationOutbox>> byRecipient = claim(capacity).stream()
+                    .collect(Collectors.groupingBy(NotificationOutbox::getRecipient, LinkedHashMap::new, Collectors.toList()));
+
+            for (Map.Entry<String, List<NotificationOutbox>> entry : byRecipient.entrySet()) {
+                Digest digest = new Digest(entry.getKey(), entry.getValue());
+                long waitNanos = recipientLimits.get(digest.recipient(),
+                        () -> new TokenBucket(perRecipientLimit, perRecipientPeriod)).tryAcquire();
+                if (waitNanos > 0) {
+                    LocalDateTime retryAt = LocalDateTime.now(DateUtils.ASIA_TBILISI).plusNanos(waitNanos);
+                    transactionTemplate.executeWithoutResult(status -> outboxRepository.defer(digest.ids(), retryAt));
+                    log.debug("Deferred {} notifications to {} until {}", digest.ids().size(), digest.recipient(), retryAt);
+                } else {
+                    digests.add(digest);
+                    queuedRows += digest.notifications().size();
+                }
+            }
+        } finally {
+            inFlight.release(capacity - queuedRows);
+        }
+
+        for (int from = 0; from < digests.size(); from += sendChunkSize) {
+            List<Digest> chunk = digests.subList(from, Math.min(from + sendChunkSize, digests.size()));
+            int rows = chunk.stream().mapToInt(digest -> digest.notifications().size()).sum();
+            senderPool.execute(() -> {
+                try {
+                    deliver(chunk);
+                } finally {
+                    inFlight.release(rows);
+                }
+            });
+        }
+    }
+
+    @Scheduled(cron = "${notification.outbox.purge-cron:0 45 3 * * *}", zone = "Asia/Tbilisi")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now(DateUtils.ASIA_TBILISI).minus(sentRetention);
+        Integer purged = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(cutoff));
+        log.info("Purged {} sent notifications older than {}", purged, cutoff);
+    }
+
+    private List<NotificationOutbox> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(DateUtils.ASIA_TBILISI);
+            List<NotificationOutbox> due = outboxRepository.findDueForUpdate(now, limit);
+            if (!due.isEmpty()) {
+                outboxRepository.lease(due.stream().map(NotificationOutbox::getId).toList(), now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    private void deliver(List<Digest> chunk) {
+        Map<Digest, SimpleMailMessage> messages = new LinkedHashMap<>();
+        chunk.forEach(digest -> messages.put(digest, digest.toMessage()));
+
+        Map<SimpleMailMessage, Exception> failures;
+        try {
+            failures = emailService.sendEmails(new ArrayList<>(messages.values()));
+        } catch (Exception e) {
+            chunk.forEach(digest -> recordFailure(digest, e));
+            return;
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        messages.forEach((digest, message) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sentIds.addAll(digest.ids());
+            } else {
+                recordFailure(digest, failure);
+            }
+        });
+
+        if (!sentIds.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        outboxRepository.markSent(sentIds, LocalDateTime.now(DateUtils.ASIA_TBILISI)));
+            } catch (Exception e) {
+                log.error("Failed to mark {} sent notifications, they will be resent after their lease", sentIds.size(), e);
+            }
+        }
+    }
+
+    private void recordFailure(Digest digest, Exception failure) {
+        int attempts = digest.notifications().stream().mapToInt(NotificationOutbox::getAttempts).max().orElse(0) + 1;
+        String error = truncate(String.valueOf(failure.getMessage()));
+
+        try {
+            if (attempts >= maxAttempts) {
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.markDead(digest.ids(), error));
+                log.error("Digest of {} notifications to {} dead-lettered after {} attempts: {}",
+                        digest.ids().size(), digest.recipient(), attempts, error);
+            } else {
+                LocalDateTime retryAt = LocalDateTime.now(DateUtils.ASIA_TBILISI).plus(backoff(attempts, initialBackoff, maxBackoff));
+                transactionTemplate.executeWithoutResult(status -> outboxRepository.markFailed(digest.ids(), retryAt, error));
+                log.warn("Digest of {} notifications to {} failed (attempt {}), retrying at {}: {}",
+                        digest.ids().size(), digest.recipient(), attempts, retryAt, error);
+            }
+        } catch (Exception e) {
+            log.error("Failed to record delivery failure of notifications {}, they will be retried after their lease", digest.ids(), e);
+        }
+    }
+
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        Duration delay = initial.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    /**
+     * Everything claimed for one recipient, sent as a single message. Bodies were rendered when
+     * they were queued, so building the digest only concatenates them.
+     */
+    private record Digest(String recipient, List<NotificationOutbox> notifications) {
+
+        List<Long> ids() {
+            return notifications.stream().map(NotificationOutbox::getId).toList();
+        }
+
+        SimpleMailMessage toMessage() {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(recipient);
+
+            if (notifications.size() == 1) {
+                message.setSubject(notifications.get(0).getSubject());
+                message.setText(notifications.get(0).getBody());
+                return message;
+            }
+
+            StringBuilder body = new StringBuilder();
+            for (NotificationOutbox notification : notifications) {
+                DIGEST_SECTION.appendTo(body, notification.getSubject(), notification.getBody());
+            }
+            message.setSubject(DIGEST_SUBJECT.render(notifications.size()));
+            message.setText(body.toString().stripTrailing());
+            return message;
+        }
+    }
+}
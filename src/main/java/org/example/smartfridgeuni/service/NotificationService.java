@@ -3,23 +3,42 @@ package org.example.smartfridgeuni.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.smartfridgeuni.model.dto.FoodItemDTO;
+import org.example.smartfridgeuni.model.entity.NotificationOutbox;
+import org.example.smartfridgeuni.repository.NotificationOutboxRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.example.smartfridgeuni.util.MessageTemplate;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Composes notifications and queues them in the outbox as part of the caller's transaction;
+ * {@link NotificationDispatcher} delivers them. A notification for a recipient with nothing queued
+ * in the last digest window is due immediately. A follow-up within the window opens a digest that
+ * is due when the window ends, and everything queued until then joins it, so a burst costs one
+ * immediate message plus one digest per window.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final MessageTemplate EXPIRED_LINE = MessageTemplate.compile("• {0} ({1} {2}) - Expired on {3}\n");
+    private static final MessageTemplate EXPIRING_SOON_LINE = MessageTemplate.compile("• {0} ({1} {2}) - Expires {3}\n");
+
     @Value("${notification.email.to}")
     private String toEmail;
 
-    private final EmailService emailService;
+    @Value("${notification.digest.window:PT10M}")
+    private Duration digestWindow;
+
+    private final NotificationOutboxRepository outboxRepository;
 
-    @Async
+    @Transactional
     public void sendExpiredItemsNotification(List<FoodItemDTO> expiredItems) {
         log.info("Sending notification for {} expired items", expiredItems.size());
 
@@ -28,20 +47,17 @@ public class NotificationService {
         message.append("The following items in your smart fridge have expired:\n\n");
 
         for (FoodItemDTO item : expiredItems) {
-            message.append(String.format("• %s (%s %s) - Expired on %s\n",
-                    item.getName(),
-                    item.getQuantity(),
-                    item.getUnit(),
-                    item.getExpirationDate()));
+            EXPIRED_LINE.appendTo(message, item.getName(), item.getQuantity(), item.getUnit(), item.getExpirationDate());
         }
 
         message.append("\nPlease remove these items from your fridge.");
 
         log.warn("NOTIFICATION: {}", message);
 
-        emailService.sendEmail(toEmail, subject, message.toString());
+        enqueue(toEmail, subject, message.toString());
     }
 
+    @Transactional
     public void sendExpiringSoonNotification(List<FoodItemDTO> expiringSoonItems) {
         log.info("Sending notification for {} items expiring soon", expiringSoonItems.size());
 
@@ -55,17 +71,29 @@ public class NotificationService {
                     daysUntilExpiration == 0 ? "today" :
                             "in " + daysUntilExpiration + " days";
 
-            message.append(String.format("• %s (%s %s) - Expires %s\n",
-                    item.getName(),
-                    item.getQuantity(),
-                    item.getUnit(),
-                    timeText));
+            EXPIRING_SOON_LINE.appendTo(message, item.getName(), item.getQuantity(), item.getUnit(), timeText);
         }
 
         message.append("\nConsider using these items soon!");
 
         log.info("NOTIFICATION: {}", message);
 
-        emailService.sendEmail(toEmail, subject, message.toString());
+        enqueue(toEmail, subject, message.toString());
+    }
+
+    private void enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now(DateUtils.ASIA_TBILISI);
+        LocalDateTime flushAt = outboxRepository.findOpenDigestFlushTime(recipient, now);
+        if (flushAt == null) {
+            boolean recentlyNotified = outboxRepository.existsByRecipientAndCreatedDateAfter(recipient, now.minus(digestWindow));
+            flushAt = recentlyNotified ? now.plus(digestWindow) : now;
+        }
+
+        NotificationOutbox notification = new NotificationOutbox();
+        notification.setRecipient(recipient);
+        notification.setSubject(subject);
+        notification.setBody(body);
+        notification.setNextAttemptAt(flushAt);
+        outboxRepository.save(notification);
     }
 }
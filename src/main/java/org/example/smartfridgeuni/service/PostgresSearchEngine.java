@@ -0,0 +1,32 @@
+package org.example.smartfridgeuni.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Searches with {@code pg_trgm}: the {@code LIKE} and {@code %} predicates are served by the GIN
+ * trigram indexes on {@code LOWER(name)}, and results are ranked by trigram similarity.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresSearchEngine implements SearchEngine {
+
+    private final FoodItemRepository foodItemRepository;
+    private final RecipeRepository recipeRepository;
+
+    @Override
+    public List<Long> searchFoodItemIds(String query, int limit) {
+        return foodItemRepository.searchIdsByNameSimilarity(query, limit);
+    }
+
+    @Override
+    public List<Long> searchRecipeIds(String query, int limit) {
+        return recipeRepository.searchIdsByNameSimilarity(query, limit);
+    }
+}
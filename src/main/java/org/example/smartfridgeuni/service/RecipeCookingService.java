@@ -0,0 +1,114 @@
+package org.example.smartfridgeuni.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.exception.CustomException;
+import org.example.smartfridgeuni.model.dto.ConsumedFoodItemDTO;
+import org.example.smartfridgeuni.model.dto.CookRecipeResultDTO;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.model.entity.Recipe;
+import org.example.smartfridgeuni.model.entity.RecipeIngredient;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Deducts a recipe's ingredients from the fridge in one transaction. Candidate items are locked in
+ * id order, so concurrent cooks sharing items always lock in the same order and cannot deadlock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeCookingService {
+
+    private static final Comparator<FoodItem> EARLIEST_EXPIRING_FIRST = Comparator
+            .comparing(FoodItem::getExpirationDate)
+            .thenComparing(FoodItem::getId);
+
+    private final RecipeRepository recipeRepository;
+    private final FoodItemRepository foodItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public CookRecipeResultDTO cookRecipe(Long id) {
+        log.info("Cooking recipe with ID: {}", id);
+
+        Recipe recipe = recipeRepository.findWithIngredientsById(id)
+                .orElseThrow(() -> new CustomException("Recipe with ID " + id + " not found"));
+
+        Map<String, Double> required = new LinkedHashMap<>();
+        for (RecipeIngredient ingredient : recipe.getIngredients()) {
+            if (ingredient.getRequiredQuantity() != null && ingredient.getRequiredQuantity() > 0) {
+                required.merge(RecipeIngredientIndex.canonicalName(ingredient.getIngredientName()),
+                        ingredient.getRequiredQuantity(), Double::sum);
+            }
+        }
+        if (required.isEmpty()) {
+            return new CookRecipeResultDTO(recipe.getId(), recipe.getName(), List.of());
+        }
+
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        Map<String, List<FoodItem>> candidates = foodItemRepository
+                .findUsableByCanonicalNamesForUpdate(required.keySet(), today).stream()
+                .sorted(EARLIEST_EXPIRING_FIRST)
+                .collect(Collectors.groupingBy(item -> RecipeIngredientIndex.canonicalName(item.getName())));
+
+        List<String> shortages = new ArrayList<>();
+        required.forEach((name, quantity) -> {
+            double available = candidates.getOrDefault(name, List.of()).stream()
+                    .mapToDouble(FoodItem::getQuantity)
+                    .sum();
+            if (available + FoodItemService.USED_UP_EPSILON < quantity) {
+                shortages.add(name + " (need " + quantity + ", have " + available + ")");
+            }
+        });
+        if (!shortages.isEmpty()) {
+            throw new CustomException("Not enough ingredients to cook " + recipe.getName() + ": "
+                    + String.join(", ", shortages), HttpStatus.CONFLICT);
+        }
+
+        List<ConsumedFoodItemDTO> consumed = new ArrayList<>();
+        List<FoodItemChangedEvent> events = new ArrayList<>();
+        required.forEach((name, quantity) -> {
+            double remaining = quantity;
+            for (FoodItem item : candidates.get(name)) {
+                if (remaining <= FoodItemService.USED_UP_EPSILON) {
+                    break;
+                }
+                double taken = Math.min(item.getQuantity(), remaining);
+                remaining -= taken;
+                item.setQuantity(item.getQuantity() - taken);
+
+                boolean usedUp = item.getQuantity() <= FoodItemService.USED_UP_EPSILON;
+                if (usedUp) {
+                    foodItemRepository.delete(item);
+                    events.add(FoodItemChangedEvent.deleted(item.getId()));
+                } else {
+                    events.add(FoodItemChangedEvent.saved(ChangeType.UPDATED, item));
+                }
+                consumed.add(new ConsumedFoodItemDTO(item.getId(), item.getName(), taken,
+                        usedUp ? 0.0 : item.getQuantity(), item.getUnit()));
+            }
+        });
+
+        foodItemRepository.flush();
+        events.forEach(eventPublisher::publishEvent);
+
+        log.info("Cooked recipe {} using {} food items", recipe.getName(), consumed.size());
+        return new CookRecipeResultDTO(recipe.getId(), recipe.getName(), consumed);
+    }
+}
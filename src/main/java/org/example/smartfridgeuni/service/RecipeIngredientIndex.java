@@ -0,0 +1,369 @@
+package org.example.smartfridgeuni.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.DayRolloverEvent;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.event.RecipeChangedEvent;
+import org.example.smartfridgeuni.model.dto.AvailableIngredientDTO;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.model.entity.Recipe;
+import org.example.smartfridgeuni.model.entity.RecipeIngredient;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.example.smartfridgeuni.util.IngredientBitmap;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index from interned ingredient id to the recipes using it, plus
+ * the set of ingredients currently in the fridge. Every recipe carries a live count
+ * of its matched ingredients which is adjusted by deltas from {@link RecipeService}
+ * and {@link FoodItemService} writes and by items expiring at day rollover, so reads
+ * never have to recompute scores from scratch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeIngredientIndex {
+
+    private final RecipeRepository recipeRepository;
+    private final FoodItemRepository foodItemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ingredientIds = new HashMap<>();
+    private final List<Set<IndexedRecipe>> postings = new ArrayList<>();
+    private final Map<Long, IndexedRecipe> recipes = new HashMap<>();
+    private final Set<IndexedRecipe> matchedRecipes = new HashSet<>();
+
+    private final Map<Long, FridgeEntry> fridgeItems = new HashMap<>();
+    private final Map<String, TreeMap<Long, Integer>> fridgeExpiryDaysByName = new HashMap<>();
+    private final TreeMap<Long, Set<Long>> fridgeItemsByExpiryDay = new TreeMap<>();
+    private final BitSet available = new BitSet();
+    private long[] soonestExpiryDays = new long[0];
+
+    public static String canonicalName(String ingredientName) {
+        return ingredientName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<Recipe> allRecipes = recipeRepository.findAllWithIngredients();
+        List<FoodItem> nonExpiredItems = foodItemRepository.findNonExpiredItems();
+
+        lock.writeLock().lock();
+        try {
+            ingredientIds.clear();
+            postings.clear();
+            recipes.clear();
+            matchedRecipes.clear();
+            fridgeItems.clear();
+            fridgeExpiryDaysByName.clear();
+            fridgeItemsByExpiryDay.clear();
+            available.clear();
+            soonestExpiryDays = new long[0];
+
+            allRecipes.forEach(this::addRecipe);
+            LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+            nonExpiredItems.forEach(item -> addFridgeItem(item, today));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Indexed {} recipes over {} distinct ingredients and {} fridge items",
+                recipes.size(), ingredientIds.size(), fridgeItems.size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeRecipe(event.getRecipeId());
+            if (event.getChangeType() != ChangeType.DELETED) {
+                addRecipe(event.getRecipe());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onFoodItemChanged(FoodItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeFridgeItem(event.getFoodItemId());
+            if (event.getChangeType() != ChangeType.DELETED) {
+                addFridgeItem(event.getFoodItem(), LocalDate.now(DateUtils.ASIA_TBILISI));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onDayRollover(DayRolloverEvent event) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Set<Long>> expired = fridgeItemsByExpiryDay.headMap(event.getToday().toEpochDay()).values().iterator();
+            int expiredCount = 0;
+            while (expired.hasNext()) {
+                for (Long itemId : expired.next()) {
+                    releaseFridgeEntry(fridgeItems.remove(itemId));
+                    expiredCount++;
+                }
+                expired.remove();
+            }
+            log.info("Removed {} expired items from the recommendation index", expiredCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return recipes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies every recipe with at least one ingredient in the fridge, its live match
+     * count, the fridge bitset the counts were taken against and the soonest expiry
+     * epoch-day per ingredient id, so scoring can run without holding the lock.
+     */
+    public MatchSnapshot snapshotMatches() {
+        lock.readLock().lock();
+        try {
+            IndexedRecipe[] matched = new IndexedRecipe[matchedRecipes.size()];
+            int[] matchedCounts = new int[matched.length];
+            int i = 0;
+            for (IndexedRecipe recipe : matchedRecipes) {
+                matched[i] = recipe;
+                matchedCounts[i] = recipe.matchedCount;
+                i++;
+            }
+            return new MatchSnapshot(matched, matchedCounts, available.toLongArray(),
+                    Arrays.copyOf(soonestExpiryDays, postings.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The non-expired fridge items the match counts are based on, in id order. Kept current by
+     * the same change events as the counts, so callers need no database read.
+     */
+    public List<AvailableIngredientDTO> availableIngredients() {
+        lock.readLock().lock();
+        try {
+            return fridgeItems.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .map(entry -> entry.getValue().ingredient())
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addRecipe(Recipe recipe) {
+        IndexedRecipe indexedRecipe = new IndexedRecipe(recipe, this::intern);
+        recipes.put(recipe.getId(), indexedRecipe);
+
+        for (int id : indexedRecipe.getIngredientIds()) {
+            postings.get(id).add(indexedRecipe);
+        }
+
+        indexedRecipe.matchedCount = indexedRecipe.getBitmap().andCardinality(available.toLongArray());
+        if (indexedRecipe.matchedCount > 0) {
+            matchedRecipes.add(indexedRecipe);
+        }
+    }
+
+    private void removeRecipe(Long recipeId) {
+        IndexedRecipe previous = recipes.remove(recipeId);
+        if (previous == null) {
+            return;
+        }
+
+        for (int id : previous.getIngredientIds()) {
+            postings.get(id).remove(previous);
+        }
+        matchedRecipes.remove(previous);
+    }
+
+    private void addFridgeItem(FoodItem item, LocalDate today) {
+        if (item.getExpirationDate().isBefore(today)) {
+            return;
+        }
+
+        FridgeEntry entry = new FridgeEntry(canonicalName(item.getName()), item.getExpirationDate().toEpochDay(),
+                new AvailableIngredientDTO(item.getName(), item.getQuantity(), item.getUnit()));
+        fridgeItems.put(item.getId(), entry);
+        fridgeItemsByExpiryDay.computeIfAbsent(entry.expiryDay(), day -> new HashSet<>()).add(item.getId());
+
+        TreeMap<Long, Integer> expiryDays = fridgeExpiryDaysByName.computeIfAbsent(entry.canonicalName(), name -> new TreeMap<>());
+        boolean firstOfName = expiryDays.isEmpty();
+        expiryDays.merge(entry.expiryDay(), 1, Integer::sum);
+
+        Integer id = ingredientIds.get(entry.canonicalName());
+        if (id != null) {
+            soonestExpiryDays[id] = expiryDays.firstKey();
+            if (firstOfName) {
+                available.set(id);
+                applyDelta(id, 1);
+            }
+        }
+    }
+
+    private void removeFridgeItem(Long itemId) {
+        FridgeEntry entry = fridgeItems.remove(itemId);
+        if (entry == null) {
+            return;
+        }
+
+        Set<Long> sameDay = fridgeItemsByExpiryDay.get(entry.expiryDay());
+        sameDay.remove(itemId);
+        if (sameDay.isEmpty()) {
+            fridgeItemsByExpiryDay.remove(entry.expiryDay());
+        }
+        releaseFridgeEntry(entry);
+    }
+
+    private void releaseFridgeEntry(FridgeEntry entry) {
+        TreeMap<Long, Integer> expiryDays = fridgeExpiryDaysByName.get(entry.canonicalName());
+        if (expiryDays.merge(entry.expiryDay(), -1, Integer::sum) == 0) {
+            expiryDays.remove(entry.expiryDay());
+        }
+
+        Integer id = ingredientIds.get(entry.canonicalName());
+        if (!expiryDays.isEmpty()) {
+            if (id != null) {
+                soonestExpiryDays[id] = expiryDays.firstKey();
+            }
+            return;
+        }
+
+        fridgeExpiryDaysByName.remove(entry.canonicalName());
+        if (id != null) {
+            soonestExpiryDays[id] = Long.MAX_VALUE;
+            available.clear(id);
+            applyDelta(id, -1);
+        }
+    }
+
+    private void applyDelta(int ingredientId, int delta) {
+        for (IndexedRecipe recipe : postings.get(ingredientId)) {
+            recipe.matchedCount += delta;
+            if (recipe.matchedCount == 0) {
+                matchedRecipes.remove(recipe);
+            } else if (delta > 0 && recipe.matchedCount == 1) {
+                matchedRecipes.add(recipe);
+            }
+        }
+    }
+
+    private int intern(String canonicalName) {
+        return ingredientIds.computeIfAbsent(canonicalName, name -> {
+            postings.add(new HashSet<>());
+            int id = postings.size() - 1;
+
+            if (id == soonestExpiryDays.length) {
+                soonestExpiryDays = Arrays.copyOf(soonestExpiryDays, Math.max(16, id * 2));
+                Arrays.fill(soonestExpiryDays, id, soonestExpiryDays.length, Long.MAX_VALUE);
+            }
+            TreeMap<Long, Integer> expiryDays = fridgeExpiryDaysByName.get(name);
+            if (expiryDays != null) {
+                available.set(id);
+                soonestExpiryDays[id] = expiryDays.firstKey();
+            }
+            return id;
+        });
+    }
+
+    public record MatchSnapshot(IndexedRecipe[] recipes, int[] matchedCounts, long[] available,
+                                long[] soonestExpiryDays) {
+    }
+
+    private record FridgeEntry(String canonicalName, long expiryDay, AvailableIngredientDTO ingredient) {
+    }
+
+    @Getter
+    public static class IndexedRecipe {
+
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final Integer prepTime;
+        private final Integer servings;
+        private final LocalDateTime createdDate;
+        private final List<String> ingredientNames;
+        private final int[] ingredientIds;
+        private final IngredientBitmap bitmap;
+
+        @Getter(AccessLevel.NONE)
+        private int matchedCount;
+
+        IndexedRecipe(Recipe recipe, ToIntFunction<String> interner) {
+            this.id = recipe.getId();
+            this.name = recipe.getName();
+            this.description = recipe.getDescription();
+            this.prepTime = recipe.getPrepTime();
+            this.servings = recipe.getServings();
+            this.createdDate = recipe.getCreatedDate();
+
+            Collection<RecipeIngredient> ingredients = recipe.getIngredients();
+            this.ingredientNames = new ArrayList<>(ingredients.size());
+            this.ingredientIds = new int[ingredients.size()];
+            int i = 0;
+            for (RecipeIngredient ingredient : ingredients) {
+                ingredientNames.add(ingredient.getIngredientName());
+                ingredientIds[i++] = interner.applyAsInt(canonicalName(ingredient.getIngredientName()));
+            }
+            this.bitmap = IngredientBitmap.of(ingredientIds);
+        }
+
+        public int getIngredientCount() {
+            return ingredientNames.size();
+        }
+
+        public int getDistinctIngredientCount() {
+            return bitmap.cardinality();
+        }
+
+        public boolean isAvailable(int ingredientIndex, long[] available) {
+            return IngredientBitmap.contains(available, ingredientIds[ingredientIndex]);
+        }
+    }
+}
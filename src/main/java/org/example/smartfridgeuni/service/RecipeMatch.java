@@ -0,0 +1,18 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.service.RecipeIngredientIndex.IndexedRecipe;
+
+record RecipeMatch(IndexedRecipe recipe, int matchedCount, double rankScore) {
+
+    RecipeMatch(IndexedRecipe recipe, int matchedCount) {
+        this(recipe, matchedCount, (double) matchedCount / recipe.getDistinctIngredientCount() * 100);
+    }
+
+    double matchPercentage() {
+        return (double) matchedCount / recipe.getDistinctIngredientCount() * 100;
+    }
+
+    boolean canMake() {
+        return matchedCount == recipe.getDistinctIngredientCount();
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.smartfridgeuni.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.service.RecipeIngredientIndex.IndexedRecipe;
+import org.example.smartfridgeuni.service.RecipeIngredientIndex.MatchSnapshot;
+import org.example.smartfridgeuni.util.TopK;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Serial;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Selects the top-K recipe matches from an index snapshot. Large snapshots are split
+ * into chunks scored on a dedicated {@link ForkJoinPool}, each producing its own top-K
+ * that is merged on the way back up; small ones stay on the calling thread, and so does
+ * everything when the pool has a single worker, where splitting was measured to never pay off.
+ * The threshold should be set per host from {@code RecipeMatchScorerBenchmarkTest}.
+ */
+@Component
+@Slf4j
+public class RecipeMatchScorer {
+
+    private final ForkJoinPool scoringPool;
+    private final boolean parallelEnabled;
+    private final int parallelThreshold;
+    private final int chunkSize;
+
+    public RecipeMatchScorer(@Qualifier("recommendationScoringPool") ForkJoinPool scoringPool,
+                             @Value("${recommendation.parallel.enabled:false}") boolean parallelEnabled,
+                             @Value("${recommendation.parallel.threshold:50000}") int parallelThreshold,
+                             @Value("${recommendation.parallel.chunk-size:8192}") int chunkSize) {
+        this.scoringPool = scoringPool;
+        this.parallelEnabled = parallelEnabled && scoringPool.getParallelism() > 1;
+        this.parallelThreshold = parallelThreshold;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    ScoredMatches topMatches(MatchSnapshot snapshot, MatchFactory factory, Predicate<RecipeMatch> filter,
+                             Comparator<RecipeMatch> order, int k) {
+        int size = snapshot.recipes().length;
+
+        if (!parallelEnabled || size < parallelThreshold) {
+            return scoreRange(snapshot, 0, size, factory, filter, order, k);
+        }
+
+        log.debug("Scoring {} recipe matches in parallel chunks of {}", size, chunkSize);
+        return scoringPool.invoke(new ScoringTask(snapshot, 0, size, factory, filter, order, k, chunkSize));
+    }
+
+    private static ScoredMatches scoreRange(MatchSnapshot snapshot, int from, int to, MatchFactory factory,
+                                            Predicate<RecipeMatch> filter, Comparator<RecipeMatch> order, int k) {
+        TopK<RecipeMatch> top = new TopK<>(k, order);
+        int matchingCount = 0;
+
+        for (int i = from; i < to; i++) {
+            RecipeMatch match = factory.create(snapshot.recipes()[i], snapshot.matchedCounts()[i]);
+            if (filter.test(match)) {
+                matchingCount++;
+                top.offer(match);
+            }
+        }
+
+        return new ScoredMatches(top, matchingCount);
+    }
+
+    @FunctionalInterface
+    interface MatchFactory {
+        RecipeMatch create(IndexedRecipe recipe, int matchedCount);
+    }
+
+    record ScoredMatches(TopK<RecipeMatch> top, int matchingCount) {
+
+        List<RecipeMatch> sorted() {
+            return top.toSortedList();
+        }
+    }
+
+    private static final class ScoringTask extends RecursiveTask<ScoredMatches> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final MatchSnapshot snapshot;
+        private final int from;
+        private final int to;
+        private final MatchFactory factory;
+        private final Predicate<RecipeMatch> filter;
+        private final Comparator<RecipeMatch> order;
+        private final int k;
+        private final int chunkSize;
+
+        ScoringTask(MatchSnapshot snapshot, int from, int to, MatchFactory factory, Predicate<RecipeMatch> filter,
+                    Comparator<RecipeMatch> order, int k, int chunkSize) {
+            this.snapshot = snapshot;
+            this.from = from;
+            this.to = to;
+            this.factory = factory;
+            this.filter = filter;
+            this.order = order;
+            this.k = k;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected ScoredMatches compute() {
+            if (to - from <= chunkSize) {
+                return scoreRange(snapshot, from, to, factory, filter, order, k);
+            }
+
+            int middle = (from + to) >>> 1;
+            ScoringTask left = new ScoringTask(snapshot, from, middle, factory, filter, order, k, chunkSize);
+            ScoringTask right = new ScoringTask(snapshot, middle, to, factory, filter, order, k, chunkSize);
+            left.fork();
+
+            ScoredMatches rightResult = right.compute();
+            ScoredMatches leftResult = left.join();
+
+            leftResult.top().offerAll(rightResult.top());
+            return new ScoredMatches(leftResult.top(), leftResult.matchingCount() + rightResult.matchingCount());
+        }
+    }
+}
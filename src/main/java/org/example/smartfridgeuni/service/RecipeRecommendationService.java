@@ -11,13 +11,23 @@ import org.example.smartfridgeuni.model.dto.RecommendationResponseDTO;
 import org.example.smartfridgeuni.model.entity.Recipe;
 import org.example.smartfridgeuni.model.entity.RecipeIngredient;
 import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.example.smartfridgeuni.repository.projection.RecipeMatchCount;
+import org.example.smartfridgeuni.service.RecipeIngredientIndex.IndexedRecipe;
+import org.example.smartfridgeuni.service.RecipeIngredientIndex.MatchSnapshot;
+import org.example.smartfridgeuni.service.RecipeMatchScorer.MatchFactory;
+import org.example.smartfridgeuni.service.RecipeMatchScorer.ScoredMatches;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,99 +35,238 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RecipeRecommendationService {
 
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_STREAM_LIMIT = 10_000;
+    private static final int URGENCY_HORIZON_DAYS = 7;
+
+    private static final Comparator<RecipeMatch> BEST_MATCH_FIRST = Comparator
+            .comparingDouble(RecipeMatch::rankScore).reversed()
+            .thenComparing(Comparator.comparingDouble(RecipeMatch::matchPercentage).reversed())
+            .thenComparing(match -> match.recipe().getId());
+
+    @Value("${recommendation.mode:memory}")
+    private Mode mode;
+
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final RecipeMatchScorer recipeMatchScorer;
+    private final RecommendationCache recommendationCache;
     private final RecipeRepository recipeRepository;
     private final FoodItemService foodItemService;
 
-    @Transactional(readOnly = true)
-    public RecommendationResponseDTO getRecipeRecommendations(Double minMatchPercentage, Boolean canMakeOnly) {
-        log.info("Generating recipe recommendations with minMatch: {}%, canMakeOnly: {}",
-                minMatchPercentage, canMakeOnly);
+    public RecommendationResponseDTO getRecipeRecommendations(Double minMatchPercentage, Boolean canMakeOnly,
+                                                              int limit, int offset, Ranking ranking) {
+        log.info("Generating recipe recommendations with minMatch: {}%, canMakeOnly: {}, limit: {}, offset: {}, ranking: {}, mode: {}",
+                minMatchPercentage, canMakeOnly, limit, offset, ranking, mode);
+        validateParameters(minMatchPercentage, limit, offset, MAX_LIMIT);
+
+        return recommendationCache.get(minMatchPercentage, canMakeOnly, limit, offset, ranking,
+                () -> generateRecommendations(minMatchPercentage, canMakeOnly, limit, offset, ranking));
+    }
+
+    /**
+     * Streams recommendations to {@code consumer} one at a time as they are materialized,
+     * best first. Always served from the in-memory index and allows a much larger
+     * {@code limit} than the buffered response.
+     */
+    public void streamRecipeRecommendations(Double minMatchPercentage, Boolean canMakeOnly, int limit, int offset,
+                                            Ranking ranking, Consumer<RecipeRecommendationDTO> consumer) {
+        log.info("Streaming recipe recommendations with minMatch: {}%, canMakeOnly: {}, limit: {}, offset: {}, ranking: {}",
+                minMatchPercentage, canMakeOnly, limit, offset, ranking);
+        validateParameters(minMatchPercentage, limit, offset, MAX_STREAM_LIMIT);
+
+        MatchSnapshot snapshot = recipeIngredientIndex.snapshotMatches();
+        ScoredMatches scoredMatches = selectFromIndex(snapshot, minMatchPercentage,
+                canMakeOnly != null && canMakeOnly, limit, offset, ranking);
+
+        scoredMatches.sorted().stream()
+                .skip(offset)
+                .forEach(match -> consumer.accept(convertToRecommendation(match, snapshot.available(), ranking)));
+    }
+
+    private void validateParameters(Double minMatchPercentage, int limit, int offset, int maxLimit) {
         if (minMatchPercentage != null && (minMatchPercentage < 0 || minMatchPercentage > 100)) {
             throw new CustomException("Minimum match percentage must be between 0 and 100");
         }
+        if (limit < 1 || limit > maxLimit) {
+            throw new CustomException("Limit must be between 1 and " + maxLimit);
+        }
+        if (offset < 0) {
+            throw new CustomException("Offset must not be negative");
+        }
+    }
 
-        List<FoodItemDTO> availableFoodItems = foodItemService.getNonExpiredItems();
-        List<AvailableIngredientDTO> availableIngredients = availableFoodItems.stream()
-                .map(this::convertToAvailableIngredient)
-                .collect(Collectors.toList());
+    private RecommendationResponseDTO generateRecommendations(Double minMatchPercentage, Boolean canMakeOnly,
+                                                              int limit, int offset, Ranking ranking) {
+        boolean canMake = canMakeOnly != null && canMakeOnly;
+        RecommendationResponseDTO response;
+        if (mode == Mode.DATABASE && ranking == Ranking.MATCH) {
+            List<FoodItemDTO> availableFoodItems = foodItemService.getNonExpiredItems();
+            response = recommendFromDatabase(availableFoodItems, minMatchPercentage, canMake, limit, offset);
+            response.setAvailableIngredients(availableFoodItems.stream()
+                    .map(this::convertToAvailableIngredient)
+                    .collect(Collectors.toList()));
+        } else {
+            response = recommendFromIndex(minMatchPercentage, canMake, limit, offset, ranking);
+            response.setAvailableIngredients(recipeIngredientIndex.availableIngredients());
+        }
 
-        Set<String> availableIngredientNames = availableFoodItems.stream()
-                .map(item -> item.getName().toLowerCase())
-                .collect(Collectors.toSet());
+        log.info("Generated {} of {} matching recommendations out of {} total recipes",
+                response.getRecommendations().size(), response.getMatchingRecipes(), response.getTotalRecipes());
 
-        List<Recipe> allRecipes = recipeRepository.findAll();
+        return response;
+    }
 
-        List<RecipeRecommendationDTO> recommendations = allRecipes.stream()
-                .map(recipe -> calculateRecipeMatch(recipe, availableIngredientNames))
-                .filter(recommendation -> {
-                    boolean matchesMinPercentage = minMatchPercentage == null ||
-                            recommendation.getMatchPercentage() >= minMatchPercentage;
-                    boolean matchesCanMakeFilter = canMakeOnly == null || !canMakeOnly ||
-                            recommendation.getCanMake();
+    private RecommendationResponseDTO recommendFromIndex(Double minMatchPercentage, boolean canMakeOnly,
+                                                         int limit, int offset, Ranking ranking) {
+        MatchSnapshot snapshot = recipeIngredientIndex.snapshotMatches();
+        ScoredMatches scoredMatches = selectFromIndex(snapshot, minMatchPercentage, canMakeOnly, limit, offset, ranking);
 
-                    return matchesMinPercentage && matchesCanMakeFilter;
-                })
-                .sorted((r1, r2) -> Double.compare(r2.getMatchPercentage(), r1.getMatchPercentage()))
+        List<RecipeRecommendationDTO> recommendations = scoredMatches.sorted().stream()
+                .skip(offset)
+                .map(match -> convertToRecommendation(match, snapshot.available(), ranking))
                 .collect(Collectors.toList());
 
         RecommendationResponseDTO response = new RecommendationResponseDTO();
-        response.setAvailableIngredients(availableIngredients);
         response.setRecommendations(recommendations);
-        response.setTotalRecipes(allRecipes.size());
-        response.setMatchingRecipes(recommendations.size());
+        response.setTotalRecipes(recipeIngredientIndex.size());
+        response.setMatchingRecipes(scoredMatches.matchingCount());
+        return response;
+    }
+
+    private ScoredMatches selectFromIndex(MatchSnapshot snapshot, Double minMatchPercentage, boolean canMakeOnly,
+                                          int limit, int offset, Ranking ranking) {
+        int k = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        MatchFactory matchFactory = ranking == Ranking.EXPIRY ? useItUpMatchFactory(snapshot) : RecipeMatch::new;
+
+        return recipeMatchScorer.topMatches(snapshot, matchFactory, match -> {
+            boolean matchesMinPercentage = minMatchPercentage == null ||
+                    match.matchPercentage() >= minMatchPercentage;
+            boolean matchesCanMakeFilter = !canMakeOnly || match.canMake();
+
+            return matchesMinPercentage && matchesCanMakeFilter;
+        }, BEST_MATCH_FIRST, k);
+    }
+
+    private RecommendationResponseDTO recommendFromDatabase(List<FoodItemDTO> availableFoodItems,
+                                                            Double minMatchPercentage, boolean canMakeOnly,
+                                                            int limit, int offset) {
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        double minMatch = minMatchPercentage == null ? 0 : minMatchPercentage;
+
+        List<RecipeMatchCount> matchCounts = recipeRepository.findTopMatchCounts(today, minMatch, canMakeOnly, limit, offset);
+        long matchingRecipes;
+        if (!matchCounts.isEmpty()) {
+            matchingRecipes = matchCounts.get(0).getTotalMatching();
+        } else if (offset > 0) {
+            matchingRecipes = recipeRepository.findTopMatchCounts(today, minMatch, canMakeOnly, 1, 0).stream()
+                    .findFirst()
+                    .map(RecipeMatchCount::getTotalMatching)
+                    .orElse(0L);
+        } else {
+            matchingRecipes = 0;
+        }
 
-        log.info("Generated {} recommendations out of {} total recipes",
-                recommendations.size(), allRecipes.size());
+        Map<Long, Recipe> recipesById = recipeRepository.findAllWithIngredientsByIdIn(matchCounts.stream()
+                        .map(RecipeMatchCount::getRecipeId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
 
+        Set<String> availableIngredientNames = availableFoodItems.stream()
+                .map(item -> RecipeIngredientIndex.canonicalName(item.getName()))
+                .collect(Collectors.toSet());
+
+        List<RecipeRecommendationDTO> recommendations = matchCounts.stream()
+                .map(matchCount -> convertToRecommendation(recipesById.get(matchCount.getRecipeId()),
+                        matchCount, availableIngredientNames))
+                .collect(Collectors.toList());
+
+        RecommendationResponseDTO response = new RecommendationResponseDTO();
+        response.setRecommendations(recommendations);
+        response.setTotalRecipes((int) recipeRepository.count());
+        response.setMatchingRecipes((int) matchingRecipes);
         return response;
     }
 
-    private RecipeRecommendationDTO calculateRecipeMatch(Recipe recipe, Set<String> availableIngredientNames) {
-        List<RecipeIngredient> recipeIngredients = recipe.getIngredients();
+    /**
+     * Scores a match by the days left on each matched ingredient: one that expires today
+     * weighs 2, one {@value #URGENCY_HORIZON_DAYS} or more days out weighs 1. Days left
+     * come from the index's per-ingredient soonest expiry epoch-day, so the date is read
+     * once per request rather than per item.
+     */
+    private MatchFactory useItUpMatchFactory(MatchSnapshot snapshot) {
+        long today = LocalDate.now(DateUtils.ASIA_TBILISI).toEpochDay();
+        long[] soonestExpiryDays = snapshot.soonestExpiryDays();
 
-        if (recipeIngredients.isEmpty()) {
-            return createEmptyRecommendation(recipe);
+        return (recipe, matchedCount) -> {
+            double[] weight = new double[1];
+            recipe.getBitmap().forEach(id -> {
+                if (soonestExpiryDays[id] != Long.MAX_VALUE) {
+                    long daysLeft = Math.max(0, soonestExpiryDays[id] - today);
+                    weight[0] += 1 + (double) Math.max(0, URGENCY_HORIZON_DAYS - daysLeft) / URGENCY_HORIZON_DAYS;
+                }
+            });
+            return new RecipeMatch(recipe, matchedCount, weight[0] / recipe.getDistinctIngredientCount() * 100);
+        };
+    }
+
+    private RecipeRecommendationDTO convertToRecommendation(RecipeMatch match, long[] availableIngredientIds,
+                                                            Ranking ranking) {
+        IndexedRecipe recipe = match.recipe();
+        List<String> ingredientNames = recipe.getIngredientNames();
+
+        List<String> availableForRecipe = new ArrayList<>(match.matchedCount());
+        List<String> missingIngredients = new ArrayList<>(ingredientNames.size() - match.matchedCount());
+
+        for (int i = 0; i < ingredientNames.size(); i++) {
+            if (recipe.isAvailable(i, availableIngredientIds)) {
+                availableForRecipe.add(ingredientNames.get(i));
+            } else {
+                missingIngredients.add(ingredientNames.get(i));
+            }
         }
 
+        RecipeSummaryDTO summary = new RecipeSummaryDTO(recipe.getId(), recipe.getName(), recipe.getDescription(),
+                recipe.getPrepTime(), recipe.getServings(), recipe.getCreatedDate(), recipe.getIngredientCount());
+
+        RecipeRecommendationDTO recommendation = buildRecommendation(summary, match.matchPercentage(),
+                availableForRecipe, missingIngredients);
+        if (ranking == Ranking.EXPIRY) {
+            recommendation.setUseItUpScore(Math.round(match.rankScore() * 100.0) / 100.0);
+        }
+        return recommendation;
+    }
+
+    private RecipeRecommendationDTO convertToRecommendation(Recipe recipe, RecipeMatchCount matchCount,
+                                                            Set<String> availableIngredientNames) {
         List<String> availableForRecipe = new ArrayList<>();
         List<String> missingIngredients = new ArrayList<>();
 
-        for (RecipeIngredient ingredient : recipeIngredients) {
-            String ingredientName = ingredient.getIngredientName().toLowerCase();
-
-            if (availableIngredientNames.contains(ingredientName)) {
+        for (RecipeIngredient ingredient : recipe.getIngredients()) {
+            if (availableIngredientNames.contains(RecipeIngredientIndex.canonicalName(ingredient.getIngredientName()))) {
                 availableForRecipe.add(ingredient.getIngredientName());
             } else {
                 missingIngredients.add(ingredient.getIngredientName());
             }
         }
 
-        double matchPercentage = (double) availableForRecipe.size() / recipeIngredients.size() * 100;
-        boolean canMake = missingIngredients.isEmpty();
+        RecipeSummaryDTO summary = new RecipeSummaryDTO(recipe.getId(), recipe.getName(), recipe.getDescription(),
+                recipe.getPrepTime(), recipe.getServings(), recipe.getCreatedDate(), recipe.getIngredients().size());
+        double matchPercentage = (double) matchCount.getMatchedCount() / matchCount.getIngredientCount() * 100;
 
-        String recommendationText = getRecommendationText(matchPercentage);
-
-        RecipeSummaryDTO recipeSummary = convertToRecipeSummary(recipe);
+        return buildRecommendation(summary, matchPercentage, availableForRecipe, missingIngredients);
+    }
 
+    private RecipeRecommendationDTO buildRecommendation(RecipeSummaryDTO summary, double matchPercentage,
+                                                        List<String> availableIngredients,
+                                                        List<String> missingIngredients) {
         RecipeRecommendationDTO recommendation = new RecipeRecommendationDTO();
-        recommendation.setRecipe(recipeSummary);
+        recommendation.setRecipe(summary);
         recommendation.setMatchPercentage(Math.round(matchPercentage * 100.0) / 100.0);
-        recommendation.setAvailableIngredients(availableForRecipe);
+        recommendation.setAvailableIngredients(availableIngredients);
         recommendation.setMissingIngredients(missingIngredients);
-        recommendation.setCanMake(canMake);
-        recommendation.setRecommendation(recommendationText);
-
-        return recommendation;
-    }
-
-    private RecipeRecommendationDTO createEmptyRecommendation(Recipe recipe) {
-        RecipeRecommendationDTO recommendation = new RecipeRecommendationDTO();
-        recommendation.setRecipe(convertToRecipeSummary(recipe));
-        recommendation.setMatchPercentage(0.0);
-        recommendation.setAvailableIngredients(Collections.emptyList());
-        recommendation.setMissingIngredients(Collections.emptyList());
-        recommendation.setCanMake(false);
-        recommendation.setRecommendation("No ingredients specified");
+        recommendation.setCanMake(missingIngredients.isEmpty());
+        recommendation.setRecommendation(getRecommendationText(matchPercentage));
         return recommendation;
     }
 
@@ -141,15 +290,13 @@ public class RecipeRecommendationService {
         return dto;
     }
 
-    private RecipeSummaryDTO convertToRecipeSummary(Recipe recipe) {
-        RecipeSummaryDTO dto = new RecipeSummaryDTO();
-        dto.setId(recipe.getId());
-        dto.setName(recipe.getName());
-        dto.setDescription(recipe.getDescription());
-        dto.setPrepTime(recipe.getPrepTime());
-        dto.setServings(recipe.getServings());
-        dto.setCreatedDate(recipe.getCreatedDate());
-        dto.setIngredientCount(recipe.getIngredients().size());
-        return dto;
+    public enum Mode {
+        MEMORY,
+        DATABASE
+    }
+
+    public enum Ranking {
+        MATCH,
+        EXPIRY
     }
 }
@@ -2,6 +2,8 @@ package org.example.smartfridgeuni.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.RecipeChangedEvent;
 import org.example.smartfridgeuni.exception.CustomException;
 import org.example.smartfridgeuni.model.dto.RecipeDTO;
 import org.example.smartfridgeuni.model.dto.RecipeIngredientDTO;
@@ -10,10 +12,14 @@ import org.example.smartfridgeuni.model.dto.RecipeSummaryDTO;
 import org.example.smartfridgeuni.model.entity.Recipe;
 import org.example.smartfridgeuni.model.entity.RecipeIngredient;
 import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,7 +27,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RecipeService {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final RecipeRepository recipeRepository;
+    private final SearchEngine searchEngine;
+    private final LookupCache lookupCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RecipeDTO addRecipe(RecipeRequest recipeDTO) {
@@ -29,18 +40,19 @@ public class RecipeService {
 
         Recipe recipe = convertToEntity(recipeDTO);
         Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.saved(ChangeType.CREATED, savedRecipe));
 
         log.info("Successfully added recipe with ID: {}", savedRecipe.getId());
         return convertToDTO(savedRecipe);
     }
 
-    @Transactional(readOnly = true)
     public RecipeDTO getRecipeById(Long id) {
         log.info("Retrieving recipe with ID: {}", id);
 
-        return recipeRepository.findById(id)
+        RecipeDTO cached = lookupCache.getRecipe(id, () -> recipeRepository.findWithIngredientsById(id)
                 .map(this::convertToDTO)
-                .orElseThrow(() -> new CustomException("Recipe with ID " + id + " not found"));
+                .orElseThrow(() -> new CustomException("Recipe with ID " + id + " not found")));
+        return copyOf(cached);
     }
 
     @Transactional
@@ -49,6 +61,7 @@ public class RecipeService {
 
         if (recipeRepository.existsById(id)) {
             recipeRepository.deleteById(id);
+            eventPublisher.publishEvent(RecipeChangedEvent.deleted(id));
             log.info("Successfully deleted recipe with ID: {}", id);
         } else {
             throw new CustomException("Recipe with ID " + id + " not found");
@@ -59,7 +72,7 @@ public class RecipeService {
     public RecipeDTO updateRecipe(Long id, RecipeRequest recipeDTO) {
         log.info("Updating recipe with ID: {}", id);
 
-        return recipeRepository.findById(id)
+        return recipeRepository.findWithIngredientsById(id)
                 .map(existingRecipe -> {
                     existingRecipe.setName(recipeDTO.getName());
                     existingRecipe.setDescription(recipeDTO.getDescription());
@@ -78,6 +91,7 @@ public class RecipeService {
                     }
 
                     Recipe updatedRecipe = recipeRepository.save(existingRecipe);
+                    eventPublisher.publishEvent(RecipeChangedEvent.saved(ChangeType.UPDATED, updatedRecipe));
                     log.info("Successfully updated recipe with ID: {}", id);
                     return convertToDTO(updatedRecipe);
                 }).orElseThrow(() -> new CustomException("Recipe with ID " + id + " not found"));
@@ -87,9 +101,26 @@ public class RecipeService {
     public List<RecipeSummaryDTO> searchRecipes(String name, Integer prepTimeMin, Integer prepTimeMax) {
         log.info("Searching recipes by name: {}", name);
 
-        List<Recipe> recipes = recipeRepository.findByNameContainingIgnoreCase(name == null || name.isEmpty() ? "null" : name,name == null || name.isEmpty(), prepTimeMin, prepTimeMax);
-        return recipes.stream()
-                .map(this::convertToSummaryDTO)
+        return recipeRepository.findSummariesByNameContainingIgnoreCase(name == null || name.isEmpty() ? "null" : name,name == null || name.isEmpty(), prepTimeMin, prepTimeMax);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecipeSummaryDTO> searchRecipesByName(String query, int limit) {
+        log.info("Searching recipes by name similarity: {} (limit: {})", query, limit);
+
+        if (query == null || query.isBlank()) {
+            throw new CustomException("Search query is required");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new CustomException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        List<Long> rankedIds = searchEngine.searchRecipeIds(query.trim(), limit);
+        Map<Long, RecipeSummaryDTO> summaries = recipeRepository.findSummariesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(RecipeSummaryDTO::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -111,16 +142,16 @@ public class RecipeService {
         return dto;
     }
 
-    private RecipeSummaryDTO convertToSummaryDTO(Recipe recipe) {
-        RecipeSummaryDTO dto = new RecipeSummaryDTO();
-        dto.setId(recipe.getId());
-        dto.setName(recipe.getName());
-        dto.setDescription(recipe.getDescription());
-        dto.setPrepTime(recipe.getPrepTime());
-        dto.setServings(recipe.getServings());
-        dto.setCreatedDate(recipe.getCreatedDate());
-        dto.setIngredientCount(recipe.getIngredients().size());
-        return dto;
+    /**
+     * Cached DTOs are shared between requests, so every hit gets its own copy to mutate.
+     */
+    private static RecipeDTO copyOf(RecipeDTO cached) {
+        List<RecipeIngredientDTO> ingredients = cached.getIngredients().stream()
+                .map(ingredient -> new RecipeIngredientDTO(ingredient.getId(), ingredient.getIngredientName(),
+                        ingredient.getRequiredQuantity(), ingredient.getUnit()))
+                .collect(Collectors.toList());
+        return new RecipeDTO(cached.getId(), cached.getName(), cached.getDescription(), cached.getInstructions(),
+                cached.getPrepTime(), cached.getServings(), cached.getCreatedDate(), ingredients);
     }
 
     private RecipeIngredientDTO convertIngredientToDTO(RecipeIngredient ingredient) {
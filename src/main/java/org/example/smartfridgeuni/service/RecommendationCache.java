@@ -0,0 +1,45 @@
+package org.example.smartfridgeuni.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.smartfridgeuni.model.dto.RecommendationResponseDTO;
+import org.example.smartfridgeuni.service.RecipeRecommendationService.Ranking;
+import org.example.smartfridgeuni.util.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+public class RecommendationCache implements MeterBinder {
+
+    private final LruCache<Key, RecommendationResponseDTO> cache;
+    private final VersionTracker versionTracker;
+
+    public RecommendationCache(@Value("${recommendation.cache.max-size:1000}") int maxSize,
+                               VersionTracker versionTracker) {
+        this.cache = new LruCache<>(maxSize);
+        this.versionTracker = versionTracker;
+    }
+
+    public RecommendationResponseDTO get(Double minMatchPercentage, Boolean canMakeOnly, int limit, int offset,
+                                         Ranking ranking, Supplier<RecommendationResponseDTO> loader) {
+        Key key = new Key(minMatchPercentage, canMakeOnly, limit, offset, ranking,
+                versionTracker.getInventoryVersion(), versionTracker.getCatalogVersion());
+        return cache.get(key, loader);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("recommendation.cache.hits", cache, LruCache::hitCount).register(registry);
+        FunctionCounter.builder("recommendation.cache.misses", cache, LruCache::missCount).register(registry);
+        FunctionCounter.builder("recommendation.cache.evictions", cache, LruCache::evictionCount).register(registry);
+        Gauge.builder("recommendation.cache.size", cache, LruCache::size).register(registry);
+    }
+
+    private record Key(Double minMatchPercentage, Boolean canMakeOnly, int limit, int offset, Ranking ranking,
+                       long inventoryVersion, long catalogVersion) {
+    }
+}
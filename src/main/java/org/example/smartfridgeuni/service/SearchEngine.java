@@ -0,0 +1,14 @@
+package org.example.smartfridgeuni.service;
+
+import java.util.List;
+
+/**
+ * Ranked substring and fuzzy name search. Implementations return ids ordered best match first;
+ * the engine is chosen with {@code search.engine}.
+ */
+public interface SearchEngine {
+
+    List<Long> searchFoodItemIds(String query, int limit);
+
+    List<Long> searchRecipeIds(String query, int limit);
+}
@@ -0,0 +1,50 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.event.DayRolloverEvent;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.event.RecipeChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic versions of the fridge inventory and the recipe catalog. Bumped after
+ * in-memory state has caught up with a committed write, so anything keyed by a
+ * version never pairs a new version with stale data.
+ */
+@Component
+public class VersionTracker {
+
+    private final AtomicLong inventoryVersion = new AtomicLong();
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onFoodItemChanged(FoodItemChangedEvent event) {
+        inventoryVersion.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        catalogVersion.incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener
+    public void onDayRollover(DayRolloverEvent event) {
+        inventoryVersion.incrementAndGet();
+    }
+
+    public long getInventoryVersion() {
+        return inventoryVersion.get();
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.smartfridgeuni.util;
+
+import org.example.smartfridgeuni.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the food item change log, which is ordered by {@code (txid, id)}.
+ * Handed to clients as an opaque URL-safe token.
+ */
+public record ChangeCursor(long txid, long id) {
+
+    public static final ChangeCursor START = new ChangeCursor(0, 0);
+
+    public String encode() {
+        String raw = txid + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new ChangeCursor(Long.parseLong(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new CustomException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.smartfridgeuni.util;
+
+import org.example.smartfridgeuni.exception.CustomException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the food item listing, which is ordered by {@code (expirationDate, id)}.
+ * Handed to clients as an opaque URL-safe token.
+ */
+public record FoodItemCursor(LocalDate expirationDate, long id) {
+
+    public String encode() {
+        String raw = expirationDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FoodItemCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new FoodItemCursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new CustomException("Invalid cursor");
+        }
+    }
+}
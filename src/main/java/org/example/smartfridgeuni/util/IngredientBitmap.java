@@ -0,0 +1,83 @@
+package org.example.smartfridgeuni.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact bitmap of interned ingredient ids. Only non-empty 64-bit words are stored,
+ * so a recipe with a handful of ingredients costs a handful of longs no matter how
+ * large the ingredient dictionary grows.
+ */
+public final class IngredientBitmap {
+
+    private final int[] wordIndexes;
+    private final long[] words;
+    private final int cardinality;
+
+    private IngredientBitmap(int[] wordIndexes, long[] words, int cardinality) {
+        this.wordIndexes = wordIndexes;
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    public static IngredientBitmap of(int[] ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+
+        int[] wordIndexes = new int[sorted.length];
+        long[] words = new long[sorted.length];
+        int wordCount = 0;
+        int cardinality = 0;
+
+        for (int id : sorted) {
+            int wordIndex = id >>> 6;
+            long bit = 1L << id;
+
+            if (wordCount == 0 || wordIndexes[wordCount - 1] != wordIndex) {
+                wordIndexes[wordCount] = wordIndex;
+                words[wordCount] = bit;
+                wordCount++;
+                cardinality++;
+            } else if ((words[wordCount - 1] & bit) == 0) {
+                words[wordCount - 1] |= bit;
+                cardinality++;
+            }
+        }
+
+        return new IngredientBitmap(Arrays.copyOf(wordIndexes, wordCount), Arrays.copyOf(words, wordCount), cardinality);
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Population count of this bitmap AND a dense bitset given as its backing words
+     * (for example {@link java.util.BitSet#toLongArray()}).
+     */
+    public int andCardinality(long[] dense) {
+        int count = 0;
+        for (int i = 0; i < wordIndexes.length; i++) {
+            int wordIndex = wordIndexes[i];
+            if (wordIndex < dense.length) {
+                count += Long.bitCount(words[i] & dense[wordIndex]);
+            }
+        }
+        return count;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < wordIndexes.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept((wordIndexes[i] << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    public static boolean contains(long[] dense, int id) {
+        int wordIndex = id >>> 6;
+        return wordIndex < dense.length && (dense[wordIndex] & (1L << id)) != 0;
+    }
+}
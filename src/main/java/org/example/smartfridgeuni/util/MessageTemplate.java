@@ -0,0 +1,51 @@
+package org.example.smartfridgeuni.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text template with positional {@code {0}}, {@code {1}}, ... placeholders. The pattern is split
+ * into literals and argument slots once, so rendering is plain appends with no format parsing.
+ */
+public final class MessageTemplate {
+
+    private final String[] literals;
+    private final int[] slots;
+
+    private MessageTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    public static MessageTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int literalStart = 0;
+        int open = pattern.indexOf('{');
+        while (open >= 0) {
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            literals.add(pattern.substring(literalStart, open));
+            slots.add(Integer.parseInt(pattern.substring(open + 1, close)));
+            literalStart = close + 1;
+            open = pattern.indexOf('{', literalStart);
+        }
+        literals.add(pattern.substring(literalStart));
+
+        return new MessageTemplate(literals.toArray(String[]::new), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public StringBuilder appendTo(StringBuilder out, Object... args) {
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]).append(args[slots[i]]);
+        }
+        return out.append(literals[slots.length]);
+    }
+
+    public String render(Object... args) {
+        return appendTo(new StringBuilder(), args).toString();
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.smartfridgeuni.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes each accepted value as one line of newline-delimited JSON. The first line is
+ * flushed straight away and later ones in small batches, so clients see results while
+ * they are still being produced.
+ */
+public final class NdjsonWriter<T> implements Consumer<T> {
+
+    private static final int FLUSH_EVERY = 64;
+
+    private final OutputStream out;
+    private final ObjectWriter writer;
+    private int written;
+
+    public NdjsonWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.writer = objectMapper.writer();
+    }
+
+    @Override
+    public void accept(T value) {
+        try {
+            out.write(writer.writeValueAsBytes(value));
+            out.write('\n');
+            if (++written % FLUSH_EVERY == 1) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.smartfridgeuni.util;
+
+import java.time.Duration;
+
+/**
+ * Token bucket allowing {@code permits} acquisitions per {@code period}, refilled continuously.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double permitsPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int permits, Duration period) {
+        this.capacity = permits;
+        this.permitsPerNano = permits / (double) period.toNanos();
+        this.tokens = permits;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return zero if a permit was taken, otherwise how many nanoseconds until one will be
+     */
+    public synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / permitsPerNano);
+    }
+}
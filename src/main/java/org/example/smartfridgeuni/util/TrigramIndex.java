@@ -0,0 +1,100 @@
+package org.example.smartfridgeuni.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory trigram index over names, mirroring {@code pg_trgm}: each word is lower-cased and padded
+ * with two leading and one trailing space before being split into trigrams, and similarity is the
+ * ratio of shared to total distinct trigrams. A name matches when it contains the query or its
+ * similarity reaches the threshold.
+ */
+public final class TrigramIndex {
+
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, Set<String>> trigramsById = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    public synchronized void put(long id, String name) {
+        remove(id);
+        String normalized = name.toLowerCase(Locale.ROOT);
+        Set<String> trigrams = trigrams(normalized);
+        names.put(id, normalized);
+        trigramsById.put(id, trigrams);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(id);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        Set<String> trigrams = trigramsById.remove(id);
+        if (trigrams == null) {
+            return;
+        }
+        names.remove(id);
+        for (String trigram : trigrams) {
+            Set<Long> ids = postings.get(trigram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        names.clear();
+        trigramsById.clear();
+        postings.clear();
+    }
+
+    public synchronized List<Long> search(String query, double threshold, int limit) {
+        String normalized = query.toLowerCase(Locale.ROOT);
+        Set<String> queryTrigrams = trigrams(normalized);
+
+        Map<Long, Integer> shared = new HashMap<>();
+        if (normalized.length() < 3) {
+            names.keySet().forEach(id -> shared.put(id, 0));
+        }
+        for (String trigram : queryTrigrams) {
+            for (Long id : postings.getOrDefault(trigram, Set.of())) {
+                shared.merge(id, 1, Integer::sum);
+            }
+        }
+
+        record Scored(long id, double similarity) {
+        }
+        List<Scored> matches = new ArrayList<>();
+        shared.forEach((id, count) -> {
+            int union = trigramsById.get(id).size() + queryTrigrams.size() - count;
+            double similarity = union == 0 ? 0 : (double) count / union;
+            if (similarity >= threshold || names.get(id).contains(normalized)) {
+                matches.add(new Scored(id, similarity));
+            }
+        });
+
+        TopK<Scored> top = new TopK<>(limit, Comparator.comparingDouble(Scored::similarity).reversed()
+                .thenComparingLong(Scored::id));
+        matches.forEach(top::offer);
+        return top.toSortedList().stream().map(Scored::id).toList();
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_recipient_created_date
+    ON notification_outbox (recipient, created_date);
@@ -0,0 +1,51 @@
+CREATE SEQUENCE IF NOT EXISTS food_items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS food_items (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    name            VARCHAR(100) NOT NULL,
+    category        VARCHAR(50)  NOT NULL,
+    quantity        FLOAT(53)    NOT NULL,
+    unit            VARCHAR(20)  NOT NULL,
+    expiration_date DATE         NOT NULL,
+    added_date      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_food_items_expiration_date_id ON food_items (expiration_date, id);
+CREATE INDEX IF NOT EXISTS idx_food_items_category_expiration_date_id ON food_items (category, expiration_date, id);
+
+CREATE TABLE IF NOT EXISTS recipes (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(255),
+    description  VARCHAR(500),
+    instructions VARCHAR(255),
+    prep_time    INTEGER,
+    servings     INTEGER,
+    created_date TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS recipe_ingredients (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipe_id         BIGINT REFERENCES recipes (id),
+    ingredient_name   VARCHAR(255),
+    required_quantity FLOAT(53),
+    unit              VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status              VARCHAR(20)  NOT NULL,
+    format              VARCHAR(20)  NOT NULL,
+    last_committed_line BIGINT       NOT NULL,
+    imported_count      BIGINT       NOT NULL,
+    error_count         BIGINT       NOT NULL,
+    failure_reason      VARCHAR(500),
+    started_date        TIMESTAMP(6) NOT NULL,
+    updated_date        TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS import_job_errors (
+    import_job_id BIGINT  NOT NULL REFERENCES import_jobs (id),
+    position      INTEGER NOT NULL,
+    message       VARCHAR(500),
+    PRIMARY KEY (import_job_id, position)
+);
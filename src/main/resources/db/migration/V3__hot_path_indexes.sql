@@ -0,0 +1,8 @@
+CREATE SEQUENCE IF NOT EXISTS food_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('food_items_seq', GREATEST((SELECT last_value FROM food_items_seq), (SELECT COALESCE(MAX(id), 0) FROM food_items) + 50));
+
+DROP INDEX IF EXISTS idx_food_items_category_expiration_date_id;
+CREATE INDEX IF NOT EXISTS idx_food_items_lower_category_expiration_date_id ON food_items (LOWER(category), expiration_date, id);
+CREATE INDEX IF NOT EXISTS idx_food_items_lower_name ON food_items (LOWER(name));
+
+CREATE INDEX IF NOT EXISTS idx_recipe_ingredients_recipe_id_ingredient_name ON recipe_ingredients (recipe_id, ingredient_name);
@@ -0,0 +1 @@
+ALTER TABLE food_items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
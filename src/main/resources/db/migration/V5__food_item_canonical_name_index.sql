@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_food_items_canonical_name ON food_items (LOWER(TRIM(name)));
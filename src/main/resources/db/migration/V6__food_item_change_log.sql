@@ -0,0 +1,27 @@
+CREATE SEQUENCE IF NOT EXISTS food_item_changes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS food_item_changes (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    txid            BIGINT       NOT NULL DEFAULT txid_current(),
+    food_item_id    BIGINT       NOT NULL,
+    change_type     VARCHAR(20)  NOT NULL,
+    name            VARCHAR(100),
+    category        VARCHAR(50),
+    quantity        FLOAT(53),
+    unit            VARCHAR(20),
+    expiration_date DATE,
+    added_date      TIMESTAMP(6),
+    changed_date    TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_food_item_changes_txid_id ON food_item_changes (txid, id);
+CREATE INDEX IF NOT EXISTS idx_food_item_changes_food_item_id_txid_id ON food_item_changes (food_item_id, txid, id);
+
+CREATE TABLE IF NOT EXISTS job_watermarks (
+    name  VARCHAR(100) NOT NULL PRIMARY KEY,
+    value BIGINT       NOT NULL
+);
+
+INSERT INTO food_item_changes (id, food_item_id, change_type, name, category, quantity, unit, expiration_date, added_date, changed_date)
+SELECT nextval('food_item_changes_seq'), f.id, 'CREATED', f.name, f.category, f.quantity, f.unit, f.expiration_date, f.added_date, NOW()
+FROM food_items f;
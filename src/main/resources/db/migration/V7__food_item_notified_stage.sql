@@ -0,0 +1,3 @@
+ALTER TABLE food_items ADD COLUMN IF NOT EXISTS notified_stage VARCHAR(20) NOT NULL DEFAULT 'FRESH';
+
+UPDATE food_items SET notified_stage = 'EXPIRED' WHERE expiration_date < CURRENT_DATE;
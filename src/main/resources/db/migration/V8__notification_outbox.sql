@@ -0,0 +1,18 @@
+CREATE SEQUENCE IF NOT EXISTS notification_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id              BIGINT        NOT NULL PRIMARY KEY,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(255)  NOT NULL,
+    body            TEXT          NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1000),
+    created_date    TIMESTAMP(6)  NOT NULL,
+    sent_date       TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending_next_attempt_at
+    ON notification_outbox (next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_status_sent_date ON notification_outbox (status, sent_date);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending_recipient_next_attempt_at
+    ON notification_outbox (recipient, next_attempt_at) WHERE status = 'PENDING';
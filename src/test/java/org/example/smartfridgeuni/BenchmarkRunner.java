@@ -0,0 +1,84 @@
+package org.example.smartfridgeuni;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal timing loop for the {@code @Tag("benchmark")} tests, which only run with
+ * {@code mvn test -Pbenchmark}. Each iteration is timed separately after a warmup, and the
+ * result reports throughput plus median and 99th percentile iteration latency. Numbers are
+ * only comparable between runs on the same host.
+ */
+public final class BenchmarkRunner {
+
+    public static final String TAG = "benchmark";
+
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkRunner.class);
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * @param opsPerIteration how many operations one call of {@code iteration} performs, for throughput
+     */
+    public static Result measure(String name, int warmupIterations, int iterations, int opsPerIteration,
+                                 Iteration iteration) throws Exception {
+        return measure(name, warmupIterations, iterations, opsPerIteration, () -> {
+        }, iteration);
+    }
+
+    /**
+     * Like {@link #measure(String, int, int, int, Iteration)}, running the untimed {@code setup}
+     * before every iteration, for work such as queueing the rows the iteration consumes.
+     */
+    public static Result measure(String name, int warmupIterations, int iterations, int opsPerIteration,
+                                 Iteration setup, Iteration iteration) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            setup.run();
+            iteration.run();
+        }
+
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            setup.run();
+            long start = System.nanoTime();
+            iteration.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        Result result = Result.of(name, nanos, opsPerIteration);
+        log.info("{}", result);
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface Iteration {
+        void run() throws Exception;
+    }
+
+    public record Result(String name, int iterations, double opsPerSecond, double p50Millis, double p99Millis) {
+
+        static Result of(String name, long[] nanos, int opsPerIteration) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            long total = Arrays.stream(sorted).sum();
+            double opsPerSecond = total == 0 ? 0 : (double) sorted.length * opsPerIteration * 1e9 / total;
+            return new Result(name, sorted.length, opsPerSecond,
+                    percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %d iterations, %.1f ops/s, p50 %.3f ms, p99 %.3f ms",
+                    name, iterations, opsPerSecond, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.smartfridgeuni.controller;
+
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.example.smartfridgeuni.model.dto.FoodItemDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemRequest;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.service.FoodItemService;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FoodItemConsumeConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 32;
+    private static final int CONSUMES_PER_THREAD = 10;
+    private static final double START_QUANTITY = 100.0;
+    private static final double AMOUNT = 1.5;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Test
+    void concurrentConsumesNeverLoseUpdatesOrGoNegative() throws Exception {
+        Long id = createItem();
+        String url = "/food-items/" + id + "/consume";
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<HttpStatus>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                List<HttpStatus> statuses = new ArrayList<>();
+                for (int i = 0; i < CONSUMES_PER_THREAD; i++) {
+                    ResponseEntity<String> response = restTemplate.postForEntity(url, Map.of("amount", AMOUNT), String.class);
+                    statuses.add(HttpStatus.valueOf(response.getStatusCode().value()));
+                }
+                return statuses;
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<List<HttpStatus>> result : results) {
+            for (HttpStatus status : result.get()) {
+                if (status == HttpStatus.OK) {
+                    succeeded++;
+                } else {
+                    assertThat(status).isIn(HttpStatus.CONFLICT, HttpStatus.BAD_REQUEST);
+                }
+            }
+        }
+        pool.shutdown();
+
+        FoodItem item = foodItemRepository.findById(id).orElseThrow();
+        assertThat(succeeded).isEqualTo((int) Math.floor(START_QUANTITY / AMOUNT));
+        assertThat(item.getQuantity()).isCloseTo(START_QUANTITY - succeeded * AMOUNT, within(1e-9));
+        assertThat(item.getQuantity()).isNotNegative();
+    }
+
+    private Long createItem() {
+        FoodItemRequest request = new FoodItemRequest();
+        request.setName("Rice");
+        request.setCategory("Grains");
+        request.setQuantity(START_QUANTITY);
+        request.setUnit("g");
+        request.setExpirationDate(LocalDate.now(DateUtils.ASIA_TBILISI).plusDays(30));
+        FoodItemDTO created = foodItemService.addFoodItem(request);
+        return created.getId();
+    }
+}
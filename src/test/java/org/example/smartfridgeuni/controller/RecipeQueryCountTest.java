@@ -0,0 +1,96 @@
+package org.example.smartfridgeuni.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.example.smartfridgeuni.model.dto.RecipeDTO;
+import org.example.smartfridgeuni.model.dto.RecipeIngredientDTO;
+import org.example.smartfridgeuni.model.dto.RecipeRequest;
+import org.example.smartfridgeuni.service.RecipeService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RecipeQueryCountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listEndpointIssuesTheSameNumberOfQueriesWhateverTheCatalogSize() {
+        createRecipes("small-catalog", 3, 2);
+        createRecipes("large-catalog", 40, 12);
+
+        long small = statementsFor("/recipes?search=small-catalog");
+        long large = statementsFor("/recipes?search=large-catalog");
+
+        assertThat(small).isPositive();
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void detailEndpointIssuesTheSameNumberOfQueriesWhateverTheIngredientCount() {
+        RecipeDTO few = createRecipes("few-ingredients", 1, 1).get(0);
+        RecipeDTO many = createRecipes("many-ingredients", 1, 25).get(0);
+
+        long small = statementsFor("/recipes/" + few.getId());
+        long large = statementsFor("/recipes/" + many.getId());
+
+        assertThat(small).isPositive();
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long statementsFor(String url) {
+        statistics.clear();
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<RecipeDTO> createRecipes(String prefix, int recipes, int ingredientsPerRecipe) {
+        List<RecipeDTO> created = new ArrayList<>();
+        for (int r = 0; r < recipes; r++) {
+            List<RecipeIngredientDTO> ingredients = new ArrayList<>();
+            for (int i = 0; i < ingredientsPerRecipe; i++) {
+                RecipeIngredientDTO ingredient = new RecipeIngredientDTO();
+                ingredient.setIngredientName(prefix + " ingredient " + i);
+                ingredient.setRequiredQuantity(1.0);
+                ingredient.setUnit("pcs");
+                ingredients.add(ingredient);
+            }
+
+            RecipeRequest request = new RecipeRequest();
+            request.setName(prefix + " recipe " + r);
+            request.setInstructions("Mix everything.");
+            request.setPrepTime(10);
+            request.setServings(2);
+            request.setIngredients(ingredients);
+            created.add(recipeService.addRecipe(request));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.smartfridgeuni.interceptor;
+
+import org.example.smartfridgeuni.service.VersionTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalGetInterceptorTest {
+
+    private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(new VersionTracker());
+
+    @Test
+    void distinctQueriesGetDistinctTags() {
+        String first = eTagOf("/food-items", "category=dairy");
+        String second = eTagOf("/food-items", "category=fruit");
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(eTagOf("/food-items", "category=dairy")).isEqualTo(first);
+    }
+
+    @Test
+    void matchingTagIsAnsweredWithNotModified() {
+        String eTag = eTagOf("/recipes/1", null);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/recipes/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    private String eTagOf(String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setQueryString(query);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.smartfridgeuni.repository;
+
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.repository.projection.ExpiryBucketCount;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the bucket edges of the expiration summary queries: expired is strictly before today,
+ * expiring soon runs through today + 3 and the week through today + 7, both inclusive.
+ */
+@Transactional
+class FoodItemExpiryBucketTest extends PostgresIntegrationTest {
+
+    private final LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM food_items");
+        for (int days : new int[]{-5, -1, 0, 3, 4, 7, 8}) {
+            jdbcTemplate.update("""
+                    INSERT INTO food_items (id, name, category, quantity, unit, expiration_date, added_date, version)
+                    VALUES (nextval('food_items_seq'), ?, 'Dairy', 1, 'pcs', ?, NOW(), 0)
+                    """, "day " + days, today.plusDays(days));
+        }
+    }
+
+    @Test
+    void countsFallIntoBucketsAtTheirEdges() {
+        Map<String, Long> counts = foodItemRepository.countByExpiryBucket(today, today.plusDays(3), today.plusDays(7))
+                .stream()
+                .collect(Collectors.toMap(ExpiryBucketCount::getBucket, ExpiryBucketCount::getItemCount));
+
+        assertThat(counts).containsOnly(
+                Map.entry("EXPIRED", 2L),
+                Map.entry("EXPIRING_SOON", 2L),
+                Map.entry("LATER_THIS_WEEK", 2L));
+    }
+
+    @Test
+    void listsAreCappedPerBucketInExpirationOrder() {
+        List<FoodItem> items = foodItemRepository.findExpiredAndExpiringSoon(today, today.plusDays(3), 1);
+
+        assertThat(items).extracting(FoodItem::getName).containsExactly("day -5", "day 0");
+    }
+
+    @Test
+    void uncappedListsHoldEveryExpiredAndExpiringSoonItem() {
+        List<FoodItem> items = foodItemRepository.findExpiredAndExpiringSoon(today, today.plusDays(3), Integer.MAX_VALUE);
+
+        assertThat(items).extracting(FoodItem::getName).containsExactly("day -5", "day -1", "day 0", "day 3");
+    }
+}
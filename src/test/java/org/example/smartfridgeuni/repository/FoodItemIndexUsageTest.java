@@ -0,0 +1,89 @@
+package org.example.smartfridgeuni.repository;
+
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN} on the shapes of the hot food item queries over a realistically sized,
+ * analyzed table and checks that each is answered from its index rather than a sequential scan.
+ */
+@Transactional
+class FoodItemIndexUsageTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO food_items (id, name, category, quantity, unit, expiration_date, added_date, version)
+                SELECT nextval('food_items_seq'), 'item ' || i, 'category ' || (i % 50), 1, 'pcs',
+                       CURRENT_DATE + (i % 365) - 5, NOW(), 0
+                FROM generate_series(1, 20000) AS i
+                """);
+        jdbcTemplate.execute("ANALYZE food_items");
+    }
+
+    @Test
+    void expiredItemsUseTheExpirationDateIndex() {
+        assertThat(plan("SELECT * FROM food_items f WHERE f.expiration_date < CURRENT_DATE"))
+                .contains("idx_food_items_expiration_date_id")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void nameLookupUsesTheLowerNameIndex() {
+        assertThat(plan("SELECT * FROM food_items f WHERE LOWER(f.name) = LOWER('Item 42')"))
+                .contains("idx_food_items_lower_name")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void canonicalNameLookupUsesTheCanonicalNameIndex() {
+        assertThat(plan("SELECT * FROM food_items f WHERE LOWER(TRIM(f.name)) IN ('item 42', 'item 43') AND f.expiration_date >= CURRENT_DATE"))
+                .contains("idx_food_items_canonical_name")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void categoryKeysetPageUsesTheCategoryIndex() {
+        assertThat(plan("""
+                SELECT * FROM food_items f
+                WHERE (false OR LOWER(f.category) = LOWER('Category 7')) AND (true OR LOWER(f.name) LIKE '%x%')
+                  AND f.expiration_date BETWEEN DATE '1900-01-01' AND DATE '9999-12-31'
+                  AND (f.expiration_date, f.id) > (CURRENT_DATE, 0)
+                ORDER BY f.expiration_date, f.id
+                LIMIT 51
+                """))
+                .contains("idx_food_items_lower_category_expiration_date_id")
+                .doesNotContain("Seq Scan")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void unfilteredKeysetPageUsesTheExpirationDateIndex() {
+        assertThat(plan("""
+                SELECT * FROM food_items f
+                WHERE f.expiration_date BETWEEN DATE '1900-01-01' AND DATE '9999-12-31'
+                  AND (f.expiration_date, f.id) > (CURRENT_DATE, 0)
+                ORDER BY f.expiration_date, f.id
+                LIMIT 51
+                """))
+                .contains("idx_food_items_expiration_date_id")
+                .doesNotContain("Seq Scan")
+                .doesNotContain("Sort");
+    }
+
+    private String plan(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines);
+    }
+}
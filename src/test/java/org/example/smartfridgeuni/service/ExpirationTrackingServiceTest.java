@@ -0,0 +1,134 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.exception.CustomException;
+import org.example.smartfridgeuni.model.dto.ExpirationSummaryDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemDTO;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.projection.ExpiryBucketCount;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExpirationTrackingServiceTest {
+
+    private final LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+
+    private FoodItemRepository foodItemRepository;
+    private VersionTracker versionTracker;
+    private ExpirationTrackingService expirationTrackingService;
+
+    @BeforeEach
+    void setUp() {
+        foodItemRepository = mock(FoodItemRepository.class);
+        versionTracker = mock(VersionTracker.class);
+        FoodItemService foodItemService = mock(FoodItemService.class);
+        when(foodItemService.convertToDTO(any())).thenAnswer(invocation -> {
+            FoodItem item = invocation.getArgument(0);
+            FoodItemDTO dto = new FoodItemDTO();
+            dto.setName(item.getName());
+            return dto;
+        });
+        expirationTrackingService = new ExpirationTrackingService(foodItemService, foodItemRepository,
+                mock(NotificationService.class), versionTracker);
+
+        when(foodItemRepository.countByExpiryBucket(today, today.plusDays(3), today.plusDays(7))).thenReturn(List.of(
+                bucket("EXPIRED", 1), bucket("EXPIRING_SOON", 2), bucket("LATER_THIS_WEEK", 4)));
+        when(foodItemRepository.findExpiredAndExpiringSoon(any(), any(), anyInt())).thenReturn(List.of(
+                item("Milk", today.minusDays(1)), item("Yogurt", today), item("Cheese", today.plusDays(3))));
+    }
+
+    @Test
+    void listsEveryItemWhenNoLimitIsGiven() {
+        ExpirationSummaryDTO summary = expirationTrackingService.getExpirationSummary(null);
+
+        verify(foodItemRepository).findExpiredAndExpiringSoon(today, today.plusDays(3), Integer.MAX_VALUE);
+        assertThat(summary.getExpiredCount()).isEqualTo(1);
+        assertThat(summary.getExpiringSoonCount()).isEqualTo(2);
+        assertThat(summary.getExpiringThisWeekCount()).isEqualTo(6);
+        assertThat(summary.getExpiredItems()).extracting(FoodItemDTO::getName).containsExactly("Milk");
+        assertThat(summary.getExpiringSoonItems()).extracting(FoodItemDTO::getName).containsExactly("Yogurt", "Cheese");
+    }
+
+    @Test
+    void passesTheRequestedLimitPerBucket() {
+        expirationTrackingService.getExpirationSummary(5);
+
+        verify(foodItemRepository).findExpiredAndExpiringSoon(today, today.plusDays(3), 5);
+    }
+
+    @Test
+    void zeroItemsPerBucketReturnsCountsOnly() {
+        ExpirationSummaryDTO summary = expirationTrackingService.getExpirationSummary(0);
+
+        verify(foodItemRepository, never()).findExpiredAndExpiringSoon(any(), any(), anyInt());
+        assertThat(summary.getExpiredCount()).isEqualTo(1);
+        assertThat(summary.getExpiredItems()).isEmpty();
+        assertThat(summary.getExpiringSoonItems()).isEmpty();
+    }
+
+    @Test
+    void limitOutsideTheAllowedRangeIsRejected() {
+        assertThatThrownBy(() -> expirationTrackingService.getExpirationSummary(-1)).isInstanceOf(CustomException.class);
+        assertThatThrownBy(() -> expirationTrackingService.getExpirationSummary(201)).isInstanceOf(CustomException.class);
+    }
+
+    @Test
+    void summaryIsReusedUntilTheInventoryVersionMoves() {
+        when(versionTracker.getInventoryVersion()).thenReturn(7L);
+        ExpirationSummaryDTO first = expirationTrackingService.getExpirationSummary(null);
+        ExpirationSummaryDTO second = expirationTrackingService.getExpirationSummary(null);
+
+        assertThat(second).isSameAs(first);
+        verify(foodItemRepository, times(1)).countByExpiryBucket(any(), any(), any());
+
+        when(versionTracker.getInventoryVersion()).thenReturn(8L);
+        ExpirationSummaryDTO third = expirationTrackingService.getExpirationSummary(null);
+
+        assertThat(third).isNotSameAs(first);
+        verify(foodItemRepository, times(2)).countByExpiryBucket(any(), any(), any());
+    }
+
+    @Test
+    void summaryForADifferentLimitIsNotReused() {
+        ExpirationSummaryDTO all = expirationTrackingService.getExpirationSummary(null);
+        ExpirationSummaryDTO capped = expirationTrackingService.getExpirationSummary(1);
+
+        assertThat(capped).isNotSameAs(all);
+        verify(foodItemRepository, times(2)).countByExpiryBucket(any(), any(), any());
+    }
+
+    private static ExpiryBucketCount bucket(String name, long count) {
+        return new ExpiryBucketCount() {
+            @Override
+            public String getBucket() {
+                return name;
+            }
+
+            @Override
+            public Long getItemCount() {
+                return count;
+            }
+        };
+    }
+
+    private static FoodItem item(String name, LocalDate expirationDate) {
+        FoodItem item = new FoodItem();
+        item.setName(name);
+        item.setExpirationDate(expirationDate);
+        return item;
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.DayRolloverEvent;
+import org.example.smartfridgeuni.event.ExpiryStage;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.JobWatermarkRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExpirySchedulerTest {
+
+    private final LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+
+    private FoodItemRepository foodItemRepository;
+    private FoodItemService foodItemService;
+    private ExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        foodItemRepository = mock(FoodItemRepository.class);
+        foodItemService = mock(FoodItemService.class);
+        scheduler = new ExpiryScheduler(foodItemRepository, foodItemService, mock(JobWatermarkRepository.class));
+    }
+
+    @Test
+    void stageOfChangesExactlyAtTheDayBoundaries() {
+        assertThat(ExpiryScheduler.stageOf(today.plusDays(3), today)).isEqualTo(ExpiryStage.FRESH);
+        assertThat(ExpiryScheduler.stageOf(today.plusDays(2), today)).isEqualTo(ExpiryStage.EXPIRING_SOON);
+        assertThat(ExpiryScheduler.stageOf(today, today)).isEqualTo(ExpiryStage.EXPIRING_SOON);
+        assertThat(ExpiryScheduler.stageOf(today.minusDays(1), today)).isEqualTo(ExpiryStage.EXPIRED);
+    }
+
+    @Test
+    void trackedBoundaryIsNeverBeforeTomorrow() {
+        FoodItem freshTomorrowBoundary = foodItem(1L, today.plusDays(3));
+        FoodItem expiringToday = foodItem(2L, today);
+        FoodItem expired = foodItem(3L, today.minusDays(5));
+        when(foodItemRepository.findAll()).thenReturn(List.of(freshTomorrowBoundary, expiringToday, expired));
+
+        scheduler.load();
+
+        assertThat(scheduler.nextBoundaryOf(1L)).isEqualTo(today.plusDays(1));
+        assertThat(scheduler.nextBoundaryOf(2L)).isEqualTo(today.plusDays(1));
+        assertThat(scheduler.nextBoundaryOf(3L)).isNull();
+    }
+
+    @Test
+    void rolloverMovesItemFromFreshToExpiringSoonToExpired() {
+        when(foodItemRepository.findAll()).thenReturn(List.of(foodItem(1L, today.plusDays(3))));
+        scheduler.load();
+
+        scheduler.onDayRollover(new DayRolloverEvent(today.plusDays(1)));
+        verify(foodItemService).claimExpiryNotifications(Set.of(1L), ExpiryStage.EXPIRING_SOON);
+        assertThat(scheduler.nextBoundaryOf(1L)).isEqualTo(today.plusDays(4));
+
+        scheduler.onDayRollover(new DayRolloverEvent(today.plusDays(4)));
+        verify(foodItemService).claimExpiryNotifications(Set.of(1L), ExpiryStage.EXPIRED);
+        assertThat(scheduler.nextBoundaryOf(1L)).isNull();
+    }
+
+    @Test
+    void deletingAQueuedItemDropsItsPendingCrossing() {
+        scheduler.onFoodItemChanged(FoodItemChangedEvent.saved(ChangeType.CREATED, foodItem(1L, today.plusDays(1))));
+        assertThat(scheduler.pendingFor(ExpiryStage.EXPIRING_SOON)).containsExactly(1L);
+
+        scheduler.onFoodItemChanged(FoodItemChangedEvent.deleted(1L));
+        scheduler.publishPending();
+
+        assertThat(scheduler.pendingFor(ExpiryStage.EXPIRING_SOON)).isEmpty();
+        verify(foodItemService, never()).claimExpiryNotifications(any(), eq(ExpiryStage.EXPIRING_SOON));
+    }
+
+    @Test
+    void pushingOutTheDateOfAQueuedItemDropsItsPendingCrossing() {
+        scheduler.onFoodItemChanged(FoodItemChangedEvent.saved(ChangeType.CREATED, foodItem(1L, today.plusDays(1))));
+        scheduler.onFoodItemChanged(FoodItemChangedEvent.saved(ChangeType.UPDATED, foodItem(1L, today.plusDays(10))));
+
+        assertThat(scheduler.pendingFor(ExpiryStage.EXPIRING_SOON)).isEmpty();
+        assertThat(scheduler.nextBoundaryOf(1L)).isEqualTo(today.plusDays(8));
+    }
+
+    @Test
+    void editingAQueuedItemWithoutChangingItsDateKeepsItsPendingCrossing() {
+        scheduler.onFoodItemChanged(FoodItemChangedEvent.saved(ChangeType.CREATED, foodItem(1L, today.plusDays(1))));
+        FoodItem renamed = foodItem(1L, today.plusDays(1));
+        renamed.setName("Skimmed milk");
+        scheduler.onFoodItemChanged(FoodItemChangedEvent.saved(ChangeType.UPDATED, renamed));
+
+        assertThat(scheduler.pendingFor(ExpiryStage.EXPIRING_SOON)).containsExactly(1L);
+    }
+
+    private static FoodItem foodItem(Long id, LocalDate expirationDate) {
+        FoodItem item = new FoodItem();
+        item.setId(id);
+        item.setName("Milk");
+        item.setCategory("Dairy");
+        item.setQuantity(1.0);
+        item.setUnit("l");
+        item.setExpirationDate(expirationDate);
+        return item;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.BenchmarkRunner;
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.example.smartfridgeuni.model.dto.FoodItemRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput in rows per second for the JDBC-batched {@code addFoodItems} against the same
+ * rows added one request at a time, for batches of 1, 100 and 10k items.
+ */
+@Tag(BenchmarkRunner.TAG)
+class FoodItemBatchInsertBenchmarkTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 10_000})
+    void batchInsertThroughput(int rows) throws Exception {
+        List<FoodItemRequest> requests = requests(rows);
+        int iterations = Math.max(5, 2000 / rows);
+
+        BenchmarkRunner.measure("addFoodItems batch of " + rows, iterations, iterations, rows, () ->
+                assertThat(foodItemService.addFoodItems(requests).getCreatedItems()).isEqualTo(rows));
+
+        BenchmarkRunner.measure("addFoodItem x " + rows, Math.max(1, iterations / 5), iterations, rows, () -> {
+            for (FoodItemRequest request : requests) {
+                foodItemService.addFoodItem(request);
+            }
+        });
+    }
+
+    private static List<FoodItemRequest> requests(int rows) {
+        LocalDate expirationDate = LocalDate.now().plusDays(30);
+        List<FoodItemRequest> requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            FoodItemRequest request = new FoodItemRequest();
+            request.setName("item " + i);
+            request.setCategory("Pantry");
+            request.setQuantity(1.0);
+            request.setUnit("pcs");
+            request.setExpirationDate(expirationDate);
+            requests.add(request);
+        }
+        return requests;
+    }
+}
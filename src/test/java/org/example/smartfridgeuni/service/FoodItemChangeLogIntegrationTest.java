@@ -0,0 +1,154 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.example.smartfridgeuni.model.dto.FoodItemChangeDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemChangesDTO;
+import org.example.smartfridgeuni.model.dto.FoodItemRequest;
+import org.example.smartfridgeuni.util.ChangeCursor;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the change feed against the real log table, where {@code txid} and the snapshot bound come from PostgreSQL.
+ */
+class FoodItemChangeLogIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private FoodItemChangeLogService changeLogService;
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearLog() {
+        jdbcTemplate.update("TRUNCATE food_item_changes");
+        jdbcTemplate.update("DELETE FROM job_watermarks WHERE name = 'food_item_changes.tombstone_floor'");
+    }
+
+    @Test
+    void pagesThroughChangesInCommitOrder() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(foodItemService.addFoodItem(request("Item " + i)).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        List<Boolean> hasMore = new ArrayList<>();
+        String since = null;
+        do {
+            FoodItemChangesDTO page = changeLogService.getChanges(since, 2);
+            page.getChanges().forEach(change -> seen.add(change.getFoodItemId()));
+            hasMore.add(page.getHasMore());
+            since = page.getNextCursor();
+        } while (hasMore.get(hasMore.size() - 1));
+
+        assertThat(seen).containsExactlyElementsOf(created);
+        assertThat(hasMore).containsExactly(true, true, false);
+        assertThat(changeLogService.getChanges(since, 2).getChanges()).isEmpty();
+        assertThat(changeLogService.getChanges(since, 2).getNextCursor()).isEqualTo(since);
+    }
+
+    @Test
+    void writeFromAnOpenTransactionHoldsBackLaterCommitsUntilItCommits() throws Exception {
+        Long before = foodItemService.addFoodItem(request("Before")).getId();
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<Long> open = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            Long id = foodItemService.addFoodItem(request("Open")).getId();
+            status.flush();
+            jdbcTemplate.queryForObject("SELECT txid_current()", Long.class);
+            written.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return id;
+        }));
+        assertThat(written.await(30, TimeUnit.SECONDS)).isTrue();
+
+        Long after = foodItemService.addFoodItem(request("After")).getId();
+        FoodItemChangesDTO whileOpen = changeLogService.getChanges(null, 100);
+
+        release.countDown();
+        Long committedLate = open.get(30, TimeUnit.SECONDS);
+        FoodItemChangesDTO afterCommit = changeLogService.getChanges(whileOpen.getNextCursor(), 100);
+
+        assertThat(whileOpen.getChanges()).extracting(FoodItemChangeDTO::getFoodItemId).containsExactly(before);
+        assertThat(afterCommit.getChanges()).extracting(FoodItemChangeDTO::getFoodItemId).containsExactly(committedLate, after);
+    }
+
+    @Test
+    void compactionKeepsTheLatestEntryPerItem() {
+        Long id = foodItemService.addFoodItem(request("Rice")).getId();
+        foodItemService.consumeFoodItem(id, 1.0);
+        foodItemService.consumeFoodItem(id, 1.0);
+
+        changeLogService.compact();
+
+        List<FoodItemChangeDTO> changes = changeLogService.getChanges(null, 100).getChanges();
+        assertThat(changes).singleElement().satisfies(change -> {
+            assertThat(change.getChangeType()).isEqualTo("UPDATED");
+            assertThat(change.getItem().getQuantity()).isEqualTo(8.0);
+        });
+    }
+
+    @Test
+    void cursorAtOrBelowTheTombstoneFloorIsGone() {
+        Long id = foodItemService.addFoodItem(request("Milk")).getId();
+        foodItemService.deleteFoodItem(id);
+        long tombstoneTxid = jdbcTemplate.queryForObject(
+                "SELECT txid FROM food_item_changes WHERE food_item_id = ? AND change_type = 'DELETED'", Long.class, id);
+        jdbcTemplate.update("UPDATE food_item_changes SET changed_date = changed_date - INTERVAL '30 days' WHERE food_item_id = ?", id);
+
+        changeLogService.compact();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM food_item_changes WHERE food_item_id = ?", Long.class, id))
+                .isZero();
+        assertThat(status(new ChangeCursor(tombstoneTxid, Long.MAX_VALUE))).isEqualTo(HttpStatus.GONE);
+        assertThat(status(new ChangeCursor(tombstoneTxid - 1, 0))).isEqualTo(HttpStatus.GONE);
+        assertThat(status(new ChangeCursor(tombstoneTxid + 1, 0))).isEqualTo(HttpStatus.OK);
+    }
+
+    private HttpStatus status(ChangeCursor cursor) {
+        return HttpStatus.valueOf(restTemplate.getForEntity("/food-items/changes?since=" + cursor.encode(), String.class)
+                .getStatusCode().value());
+    }
+
+    private static FoodItemRequest request(String name) {
+        FoodItemRequest request = new FoodItemRequest();
+        request.setName(name);
+        request.setCategory("Pantry");
+        request.setQuantity(10.0);
+        request.setUnit("pcs");
+        request.setExpirationDate(LocalDate.now(DateUtils.ASIA_TBILISI).plusDays(30));
+        return request;
+    }
+}
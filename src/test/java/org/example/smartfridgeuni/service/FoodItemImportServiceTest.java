@@ -0,0 +1,157 @@
+package org.example.smartfridgeuni.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.smartfridgeuni.exception.CustomException;
+import org.example.smartfridgeuni.model.dto.FoodItemRequest;
+import org.example.smartfridgeuni.model.dto.ImportJobDTO;
+import org.example.smartfridgeuni.model.entity.ImportJob;
+import org.example.smartfridgeuni.repository.ImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FoodItemImportServiceTest {
+
+    private final List<String> importedNames = new ArrayList<>();
+
+    private FoodItemService foodItemService;
+    private ImportJobRepository importJobRepository;
+    private FoodItemImportService importService;
+    private ImportJob storedJob;
+    private int failOnBatch;
+    private int batches;
+
+    @BeforeEach
+    void setUp() {
+        foodItemService = mock(FoodItemService.class);
+        importJobRepository = mock(ImportJobRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        importService = new FoodItemImportService(foodItemService, importJobRepository, transactionTemplate, new ObjectMapper());
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(1L);
+            }
+            storedJob = job;
+            return job;
+        });
+        when(importJobRepository.findById(1L)).thenAnswer(invocation -> Optional.ofNullable(storedJob));
+        when(foodItemService.validate(any(FoodItemRequest.class))).thenAnswer(invocation ->
+                invocation.<FoodItemRequest>getArgument(0).getName() == null ? List.of("name is required") : List.of());
+        when(foodItemService.saveInBatches(anyList())).thenAnswer(invocation -> {
+            if (++batches == failOnBatch) {
+                throw new IllegalStateException("connection reset");
+            }
+            invocation.<List<FoodItemRequest>>getArgument(0).forEach(request -> importedNames.add(request.getName()));
+            return List.of();
+        });
+    }
+
+    @Test
+    void parseCsvLineSplitsPlainFields() {
+        assertThat(FoodItemImportService.parseCsvLine("Milk,Dairy,1,l,2030-01-01"))
+                .containsExactly("Milk", "Dairy", "1", "l", "2030-01-01");
+    }
+
+    @Test
+    void parseCsvLineKeepsEmbeddedCommasAndQuotesInQuotedFields() {
+        assertThat(FoodItemImportService.parseCsvLine("\"Cheese, aged\",\"Say \"\"cheese\"\"\",\"\""))
+                .containsExactly("Cheese, aged", "Say \"cheese\"", "");
+    }
+
+    @Test
+    void parseCsvLineKeepsEmptyFields() {
+        assertThat(FoodItemImportService.parseCsvLine("")).containsExactly("");
+        assertThat(FoodItemImportService.parseCsvLine("a,,b,")).containsExactly("a", "", "b", "");
+    }
+
+    @Test
+    void importSkipsBlankLinesAndRecordsInvalidOnes() {
+        String csv = """
+                name,category,quantity,unit,expiration_date
+                "Cheese, aged",Dairy,1,pcs,2030-01-01
+
+                ,Dairy,1,pcs,2030-01-01
+                Milk,Dairy,not a number,l,2030-01-01
+                Eggs,Dairy,12,pcs,2030-01-01
+                """;
+
+        ImportJobDTO result = importService.importFoodItems(stream(csv), ImportJob.Format.CSV, null);
+
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getImportedCount()).isEqualTo(2L);
+        assertThat(result.getErrorCount()).isEqualTo(2L);
+        assertThat(result.getErrors()).containsExactly("line 4: name is required", "line 5: could not parse record");
+        assertThat(importedNames).containsExactly("Cheese, aged", "Eggs");
+    }
+
+    @Test
+    void csvWithoutTheRequiredColumnsIsRejectedWithoutCreatingAJob() {
+        String csv = """
+                name,category,amount
+                Milk,Dairy,1
+                """;
+
+        assertThatThrownBy(() -> importService.importFoodItems(stream(csv), ImportJob.Format.CSV, null))
+                .isInstanceOf(CustomException.class)
+                .hasMessageStartingWith("CSV header must contain the columns")
+                .extracting(e -> ((CustomException) e).getHttpStatus())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+
+        verify(importJobRepository, never()).save(any(ImportJob.class));
+        verify(foodItemService, never()).saveInBatches(anyList());
+    }
+
+    @Test
+    void resumedImportContinuesAfterTheLastCommittedLine() {
+        String csv = csvWithItems(2500);
+        failOnBatch = 2;
+
+        ImportJobDTO failed = importService.importFoodItems(stream(csv), ImportJob.Format.CSV, null);
+
+        assertThat(failed.getStatus()).isEqualTo("FAILED");
+        assertThat(failed.getLastCommittedLine()).isEqualTo(1000L);
+        assertThat(failed.getImportedCount()).isEqualTo(999L);
+
+        ImportJobDTO resumed = importService.importFoodItems(stream(csv), ImportJob.Format.CSV, failed.getId());
+
+        assertThat(resumed.getStatus()).isEqualTo("COMPLETED");
+        assertThat(resumed.getLastCommittedLine()).isEqualTo(2501L);
+        assertThat(resumed.getImportedCount()).isEqualTo(2500L);
+        assertThat(importedNames).hasSize(2500).doesNotHaveDuplicates();
+        assertThat(importedNames.get(999)).isEqualTo("item 1000");
+    }
+
+    private static String csvWithItems(int count) {
+        StringBuilder csv = new StringBuilder("name,category,quantity,unit,expiration_date\n");
+        for (int i = 1; i <= count; i++) {
+            csv.append("item ").append(i).append(",Pantry,1,pcs,2030-01-01\n");
+        }
+        return csv.toString();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
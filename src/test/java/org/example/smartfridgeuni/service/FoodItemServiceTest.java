@@ -0,0 +1,134 @@
+package org.example.smartfridgeuni.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.example.smartfridgeuni.event.ExpiryEvent;
+import org.example.smartfridgeuni.event.ExpiryStage;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.exception.CustomException;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FoodItemServiceTest {
+
+    private final LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+
+    private FoodItemRepository foodItemRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private FoodItemService foodItemService;
+
+    @BeforeEach
+    void setUp() {
+        foodItemRepository = mock(FoodItemRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        foodItemService = new FoodItemService(foodItemRepository, mock(EntityManager.class), eventPublisher,
+                mock(Validator.class), mock(SearchEngine.class), mock(LookupCache.class));
+    }
+
+    @Test
+    void claimSkipsItemsWhoseDateNoLongerMatchesTheStage() {
+        FoodItem stillExpiring = foodItem(1L, today.plusDays(1));
+        FoodItem pushedOut = foodItem(2L, today.plusDays(10));
+        when(foodItemRepository.findByIdInAndNotifiedStageInForUpdate(anyCollection(), anyCollection()))
+                .thenReturn(List.of(stillExpiring, pushedOut));
+
+        List<FoodItem> claimed = foodItemService.claimExpiryNotifications(Set.of(1L, 2L), ExpiryStage.EXPIRING_SOON);
+
+        assertThat(claimed).containsExactly(stillExpiring);
+        verify(foodItemRepository).updateNotifiedStage(List.of(1L), ExpiryStage.EXPIRING_SOON.name());
+        ArgumentCaptor<ExpiryEvent> event = ArgumentCaptor.forClass(ExpiryEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getFoodItems()).containsExactly(stillExpiring);
+    }
+
+    @Test
+    void claimWithNoMatchingRowsPublishesNothing() {
+        when(foodItemRepository.findByIdInAndNotifiedStageInForUpdate(anyCollection(), anyCollection()))
+                .thenReturn(List.of(foodItem(1L, today.plusDays(10))));
+
+        assertThat(foodItemService.claimExpiryNotifications(Set.of(1L), ExpiryStage.EXPIRED)).isEmpty();
+
+        verify(foodItemRepository, never()).updateNotifiedStage(anyCollection(), anyString());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void consumeBuildsTheResponseFromTheReturnedRowWithoutReloadingIt() {
+        FoodItem consumed = foodItem(1L, today.plusDays(5));
+        consumed.setQuantity(0.5);
+        when(foodItemRepository.consumeQuantity(1L, 0.5)).thenReturn(Optional.of(consumed));
+
+        assertThat(foodItemService.consumeFoodItem(1L, 0.5).getQuantity()).isEqualTo(0.5);
+
+        verify(foodItemRepository, never()).findById(any());
+        verify(foodItemRepository, never()).delete(any());
+        verify(eventPublisher).publishEvent(any(FoodItemChangedEvent.class));
+    }
+
+    @Test
+    void consumeRemovesAUsedUpItem() {
+        FoodItem consumed = foodItem(1L, today.plusDays(5));
+        consumed.setQuantity(0.0);
+        when(foodItemRepository.consumeQuantity(1L, 1.0)).thenReturn(Optional.of(consumed));
+
+        foodItemService.consumeFoodItem(1L, 1.0);
+
+        verify(foodItemRepository).delete(consumed);
+        verify(foodItemRepository, never()).findById(any());
+    }
+
+    @Test
+    void consumingMoreThanIsLeftIsAConflict() {
+        when(foodItemRepository.consumeQuantity(1L, 5.0)).thenReturn(Optional.empty());
+        when(foodItemRepository.findById(1L)).thenReturn(Optional.of(foodItem(1L, today.plusDays(5))));
+
+        assertThatThrownBy(() -> foodItemService.consumeFoodItem(1L, 5.0))
+                .isInstanceOf(CustomException.class)
+                .hasMessageStartingWith("Insufficient quantity of Yogurt")
+                .extracting(e -> ((CustomException) e).getHttpStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void consumingAMissingItemIsNotFound() {
+        when(foodItemRepository.consumeQuantity(1L, 1.0)).thenReturn(Optional.empty());
+        when(foodItemRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> foodItemService.consumeFoodItem(1L, 1.0))
+                .isInstanceOf(CustomException.class)
+                .hasMessage("Food item with ID 1 not found");
+    }
+
+    private static FoodItem foodItem(Long id, LocalDate expirationDate) {
+        FoodItem item = new FoodItem();
+        item.setId(id);
+        item.setName("Yogurt");
+        item.setCategory("Dairy");
+        item.setQuantity(1.0);
+        item.setUnit("pcs");
+        item.setExpirationDate(expirationDate);
+        return item;
+    }
+}
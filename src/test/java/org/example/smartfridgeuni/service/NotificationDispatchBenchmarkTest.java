@@ -0,0 +1,85 @@
+package org.example.smartfridgeuni.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.example.smartfridgeuni.BenchmarkRunner;
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.example.smartfridgeuni.model.entity.NotificationOutbox;
+import org.example.smartfridgeuni.repository.NotificationOutboxRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Emails delivered per second, from due outbox rows to rows marked sent over SMTP, when every
+ * recipient has one row and when each recipient's rows are coalesced into one digest email.
+ */
+@Tag(BenchmarkRunner.TAG)
+class NotificationDispatchBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 500;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void digestDispatchThroughput() throws Exception {
+        for (int rowsPerRecipient : new int[]{1, 10}) {
+            int messages = ROWS / rowsPerRecipient;
+            BenchmarkRunner.measure("dispatch " + messages + " emails from " + ROWS + " rows", 2, 10, messages,
+                    () -> queue(rowsPerRecipient), this::dispatchUntilSent);
+            assertThat(greenMail.getReceivedMessages()).hasSize(messages);
+        }
+    }
+
+    private void queue(int rowsPerRecipient) throws FolderException {
+        greenMail.purgeEmailFromAllMailboxes();
+        LocalDateTime due = LocalDateTime.now(DateUtils.ASIA_TBILISI).minusSeconds(1);
+
+        List<NotificationOutbox> rows = new ArrayList<>(ROWS);
+        String recipient = null;
+        for (int i = 0; i < ROWS; i++) {
+            if (i % rowsPerRecipient == 0) {
+                recipient = "fridge@" + UUID.randomUUID() + ".test";
+            }
+            NotificationOutbox notification = new NotificationOutbox();
+            notification.setRecipient(recipient);
+            notification.setSubject("Expiring soon");
+            notification.setBody("• Milk (1.0 l) - Expires tomorrow\n• Eggs (12.0 pcs) - Expires in 2 days");
+            notification.setNextAttemptAt(due);
+            rows.add(notification);
+        }
+        outboxRepository.saveAll(rows);
+    }
+
+    private void dispatchUntilSent() throws InterruptedException {
+        while (pendingRows() > 0) {
+            dispatcher.dispatch();
+            Thread.sleep(1);
+        }
+    }
+
+    private long pendingRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox WHERE status = 'PENDING'", Long.class);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.smartfridgeuni.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.example.smartfridgeuni.model.entity.NotificationOutbox;
+import org.example.smartfridgeuni.repository.NotificationOutboxRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs the dispatcher against the real outbox table and an in-process SMTP server.
+ */
+class NotificationDispatcherIntegrationTest extends PostgresIntegrationTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Value("${notification.outbox.initial-backoff}")
+    private Duration initialBackoff;
+
+    @Value("${notification.outbox.max-attempts}")
+    private int maxAttempts;
+
+    @Test
+    void dueNotificationIsDeliveredAndMarkedSent() throws Exception {
+        String recipient = recipient();
+        NotificationOutbox queued = queue(recipient, "Expired items", "• Milk (1.0 l) - Expired on 2030-01-01", 0);
+
+        dispatcher.dispatch();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage message = greenMail.getReceivedMessagesForDomain(recipient)[0];
+        assertThat(message.getSubject()).isEqualTo("Expired items");
+        assertThat(GreenMailUtil.getBody(message)).contains("Milk");
+
+        NotificationOutbox sent = awaitAttempts(queued.getId(), 1);
+        assertThat(sent.getStatus()).isEqualTo(NotificationOutbox.Status.SENT);
+        assertThat(sent.getSentDate()).isNotNull();
+    }
+
+    @Test
+    void notificationsQueuedForTheSameRecipientGoOutAsOneDigest() throws Exception {
+        String recipient = recipient();
+        queue(recipient, "Expired items", "• Milk", 0);
+        queue(recipient, "Expiring soon", "• Eggs", 0);
+
+        dispatcher.dispatch();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage[] messages = greenMail.getReceivedMessagesForDomain(recipient);
+        assertThat(messages).hasSize(1);
+        assertThat(messages[0].getSubject()).isEqualTo("Smart fridge digest: 2 notifications");
+        assertThat(GreenMailUtil.getBody(messages[0])).contains("Milk").contains("Eggs");
+    }
+
+    @Test
+    void failedDeliveryIsRetriedAfterTheBackoff() {
+        NotificationOutbox queued = queue(recipient(), "Expired items", "• Milk", 0);
+        greenMail.stop();
+
+        LocalDateTime before = LocalDateTime.now(DateUtils.ASIA_TBILISI);
+        dispatcher.dispatch();
+
+        NotificationOutbox failed = awaitAttempts(queued.getId(), 1);
+        assertThat(failed.getStatus()).isEqualTo(NotificationOutbox.Status.PENDING);
+        assertThat(failed.getLastError()).isNotBlank();
+        assertThat(failed.getNextAttemptAt()).isAfterOrEqualTo(before.plus(initialBackoff));
+    }
+
+    @Test
+    void deliveryIsDeadLetteredAfterTheLastAttempt() {
+        NotificationOutbox queued = queue(recipient(), "Expired items", "• Milk", maxAttempts - 1);
+        greenMail.stop();
+
+        dispatcher.dispatch();
+
+        NotificationOutbox dead = awaitAttempts(queued.getId(), maxAttempts);
+        assertThat(dead.getStatus()).isEqualTo(NotificationOutbox.Status.DEAD);
+        assertThat(dead.getLastError()).isNotBlank();
+    }
+
+    private NotificationOutbox queue(String recipient, String subject, String body, int attempts) {
+        NotificationOutbox notification = new NotificationOutbox();
+        notification.setRecipient(recipient);
+        notification.setSubject(subject);
+        notification.setBody(body);
+        notification.setAttempts(attempts);
+        notification.setNextAttemptAt(LocalDateTime.now(DateUtils.ASIA_TBILISI).minusSeconds(1));
+        return outboxRepository.save(notification);
+    }
+
+    private NotificationOutbox awaitAttempts(Long id, int attempts) {
+        return await().atMost(Duration.ofSeconds(10))
+                .until(() -> outboxRepository.findById(id).orElseThrow(),
+                        notification -> notification.getAttempts() == attempts);
+    }
+
+    private static String recipient() {
+        return "fridge@" + UUID.randomUUID() + ".test";
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.smartfridgeuni.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationDispatcherTest {
+
+    private static final Duration INITIAL = Duration.ofSeconds(30);
+    private static final Duration MAX = Duration.ofHours(1);
+
+    @Test
+    void backoffDoublesFromTheInitialDelay() {
+        assertThat(NotificationDispatcher.backoff(1, INITIAL, MAX)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(NotificationDispatcher.backoff(2, INITIAL, MAX)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(NotificationDispatcher.backoff(3, INITIAL, MAX)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(NotificationDispatcher.backoff(7, INITIAL, MAX)).isEqualTo(Duration.ofMinutes(32));
+    }
+
+    @Test
+    void backoffIsCappedAtTheMaximum() {
+        assertThat(NotificationDispatcher.backoff(8, INITIAL, MAX)).isEqualTo(MAX);
+        assertThat(NotificationDispatcher.backoff(1000, INITIAL, MAX)).isEqualTo(MAX);
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.model.dto.FoodItemDTO;
+import org.example.smartfridgeuni.model.entity.NotificationOutbox;
+import org.example.smartfridgeuni.repository.NotificationOutboxRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    private static final String RECIPIENT = "fridge@example.com";
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+
+    private NotificationOutboxRepository outboxRepository;
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(NotificationOutboxRepository.class);
+        notificationService = new NotificationService(outboxRepository);
+        ReflectionTestUtils.setField(notificationService, "toEmail", RECIPIENT);
+        ReflectionTestUtils.setField(notificationService, "digestWindow", WINDOW);
+    }
+
+    @Test
+    void firstNotificationInAWindowIsDueImmediately() {
+        LocalDateTime before = LocalDateTime.now(DateUtils.ASIA_TBILISI);
+
+        notificationService.sendExpiredItemsNotification(List.of(milk()));
+
+        NotificationOutbox queued = queued();
+        assertThat(queued.getRecipient()).isEqualTo(RECIPIENT);
+        assertThat(queued.getBody()).contains("• Milk (1.0 l) - Expired on");
+        assertThat(queued.getNextAttemptAt()).isCloseTo(before, within(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void followUpWithinTheWindowOpensADigestDueAtTheWindowEnd() {
+        when(outboxRepository.existsByRecipientAndCreatedDateAfter(eq(RECIPIENT), any())).thenReturn(true);
+        LocalDateTime before = LocalDateTime.now(DateUtils.ASIA_TBILISI);
+
+        notificationService.sendExpiredItemsNotification(List.of(milk()));
+
+        assertThat(queued().getNextAttemptAt()).isCloseTo(before.plus(WINDOW), within(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void notificationJoinsTheOpenDigest() {
+        LocalDateTime flushAt = LocalDateTime.now(DateUtils.ASIA_TBILISI).plusMinutes(3);
+        when(outboxRepository.findOpenDigestFlushTime(eq(RECIPIENT), any())).thenReturn(flushAt);
+
+        notificationService.sendExpiringSoonNotification(List.of(milk()));
+
+        NotificationOutbox queued = queued();
+        assertThat(queued.getNextAttemptAt()).isEqualTo(flushAt);
+        assertThat(queued.getBody()).contains("• Milk (1.0 l) - Expires tomorrow");
+    }
+
+    private NotificationOutbox queued() {
+        ArgumentCaptor<NotificationOutbox> captor = ArgumentCaptor.forClass(NotificationOutbox.class);
+        verify(outboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static FoodItemDTO milk() {
+        FoodItemDTO item = new FoodItemDTO();
+        item.setName("Milk");
+        item.setQuantity(1.0);
+        item.setUnit("l");
+        item.setExpirationDate(LocalDate.now(DateUtils.ASIA_TBILISI).plusDays(1));
+        item.setDaysUntilExpiration(1L);
+        return item;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.event.ChangeType;
+import org.example.smartfridgeuni.event.FoodItemChangedEvent;
+import org.example.smartfridgeuni.model.dto.AvailableIngredientDTO;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecipeIngredientIndexTest {
+
+    private final LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+
+    private RecipeIngredientIndex index;
+
+    @BeforeEach
+    void setUp() {
+        RecipeRepository recipeRepository = mock(RecipeRepository.class);
+        FoodItemRepository foodItemRepository = mock(FoodItemRepository.class);
+        when(recipeRepository.findAllWithIngredients()).thenReturn(List.of());
+        when(foodItemRepository.findNonExpiredItems()).thenReturn(List.of(foodItem(2L, "Eggs", 6.0, today.plusDays(5))));
+
+        index = new RecipeIngredientIndex(recipeRepository, foodItemRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void availableIngredientsFollowFoodItemChanges() {
+        index.onFoodItemChanged(FoodItemChangedEvent.saved(ChangeType.CREATED, foodItem(1L, "Milk", 1.0, today.plusDays(2))));
+        index.onFoodItemChanged(FoodItemChangedEvent.saved(ChangeType.UPDATED, foodItem(2L, "Eggs", 4.0, today.plusDays(5))));
+
+        assertThat(index.availableIngredients()).containsExactly(
+                new AvailableIngredientDTO("Milk", 1.0, "pcs"),
+                new AvailableIngredientDTO("Eggs", 4.0, "pcs"));
+
+        index.onFoodItemChanged(FoodItemChangedEvent.deleted(1L));
+        index.onFoodItemChanged(FoodItemChangedEvent.saved(ChangeType.CREATED, foodItem(3L, "Ham", 1.0, today.minusDays(1))));
+
+        assertThat(index.availableIngredients()).containsExactly(new AvailableIngredientDTO("Eggs", 4.0, "pcs"));
+    }
+
+    private static FoodItem foodItem(Long id, String name, double quantity, LocalDate expirationDate) {
+        FoodItem item = new FoodItem();
+        item.setId(id);
+        item.setName(name);
+        item.setCategory("Other");
+        item.setQuantity(quantity);
+        item.setUnit("pcs");
+        item.setExpirationDate(expirationDate);
+        return item;
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.BenchmarkRunner;
+import org.example.smartfridgeuni.model.entity.FoodItem;
+import org.example.smartfridgeuni.model.entity.Recipe;
+import org.example.smartfridgeuni.model.entity.RecipeIngredient;
+import org.example.smartfridgeuni.repository.FoodItemRepository;
+import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.example.smartfridgeuni.service.RecipeIngredientIndex.MatchSnapshot;
+import org.example.smartfridgeuni.util.DateUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sequential against fork/join scoring of the same snapshot over a range of catalog sizes, to
+ * find where {@code recommendation.parallel.threshold} should sit on a given host: the smallest
+ * size from which the parallel median stays at least {@value #MIN_GAIN} below the sequential one.
+ * The pool has one worker per available processor, as in production, but at least two so the
+ * fork/join path is exercised even where the scorer would bypass it.
+ */
+@Tag(BenchmarkRunner.TAG)
+class RecipeMatchScorerBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeMatchScorerBenchmarkTest.class);
+
+    private static final int[] CATALOG_SIZES = {1_000, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000};
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+    private static final int DISTINCT_INGREDIENTS = 400;
+    private static final int CHUNK_SIZE = 8192;
+    private static final int K = 10;
+    private static final double MIN_GAIN = 0.1;
+    private static final Comparator<RecipeMatch> BEST_MATCH_FIRST = Comparator
+            .comparingDouble(RecipeMatch::rankScore).reversed()
+            .thenComparing(match -> match.recipe().getId());
+
+    private static ForkJoinPool pool;
+    private static MatchSnapshot fullSnapshot;
+
+    @BeforeAll
+    static void setUp() {
+        pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        fullSnapshot = snapshot(CATALOG_SIZES[CATALOG_SIZES.length - 1]);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void sequentialVersusParallelCrossover() throws Exception {
+        RecipeMatchScorer sequential = new RecipeMatchScorer(pool, false, Integer.MAX_VALUE, CHUNK_SIZE);
+        RecipeMatchScorer parallel = new RecipeMatchScorer(pool, true, 1, CHUNK_SIZE);
+
+        Integer crossover = null;
+        for (int size : CATALOG_SIZES) {
+            MatchSnapshot snapshot = slice(size);
+            int iterations = Math.max(20, 2_000_000 / size);
+
+            BenchmarkRunner.Result sequentialResult = BenchmarkRunner.measure("scoring sequential recipes=" + size,
+                    iterations, iterations, size, () -> score(sequential, snapshot));
+            BenchmarkRunner.Result parallelResult = BenchmarkRunner.measure("scoring parallel recipes=" + size,
+                    iterations, iterations, size, () -> score(parallel, snapshot));
+
+            if (parallelResult.p50Millis() < sequentialResult.p50Millis() * (1 - MIN_GAIN)) {
+                crossover = crossover == null ? size : crossover;
+            } else {
+                crossover = null;
+            }
+        }
+
+        if (crossover != null) {
+            log.info("Parallel scoring with {} workers pays off from {} recipes", pool.getParallelism(), crossover);
+        } else {
+            log.info("Parallel scoring with {} workers did not pay off at any measured size", pool.getParallelism());
+        }
+    }
+
+    private static void score(RecipeMatchScorer scorer, MatchSnapshot snapshot) {
+        RecipeMatchScorer.ScoredMatches matches = scorer.topMatches(snapshot, RecipeMatch::new,
+                match -> match.matchPercentage() >= 20, BEST_MATCH_FIRST, K);
+        assertThat(matches.sorted()).hasSize(K);
+    }
+
+    private static MatchSnapshot slice(int size) {
+        return new MatchSnapshot(Arrays.copyOf(fullSnapshot.recipes(), size),
+                Arrays.copyOf(fullSnapshot.matchedCounts(), size),
+                fullSnapshot.available(), fullSnapshot.soonestExpiryDays());
+    }
+
+    private static MatchSnapshot snapshot(int recipes) {
+        List<Recipe> catalog = new ArrayList<>(recipes);
+        for (int r = 1; r <= recipes; r++) {
+            Recipe recipe = new Recipe();
+            recipe.setId((long) r);
+            recipe.setName("recipe " + r);
+            for (int i = 1; i <= INGREDIENTS_PER_RECIPE; i++) {
+                RecipeIngredient ingredient = new RecipeIngredient();
+                ingredient.setIngredientName("ingredient " + ((r * 7 + i * 13) % DISTINCT_INGREDIENTS));
+                recipe.getIngredients().add(ingredient);
+            }
+            catalog.add(recipe);
+        }
+
+        LocalDate today = LocalDate.now(DateUtils.ASIA_TBILISI);
+        List<FoodItem> fridge = new ArrayList<>();
+        for (int i = 0; i < DISTINCT_INGREDIENTS; i += 2) {
+            FoodItem item = new FoodItem();
+            item.setId((long) i + 1);
+            item.setName("ingredient " + i);
+            item.setQuantity(1.0);
+            item.setUnit("pcs");
+            item.setExpirationDate(today.plusDays(10));
+            fridge.add(item);
+        }
+
+        RecipeRepository recipeRepository = mock(RecipeRepository.class);
+        FoodItemRepository foodItemRepository = mock(FoodItemRepository.class);
+        when(recipeRepository.findAllWithIngredients()).thenReturn(catalog);
+        when(foodItemRepository.findNonExpiredItems()).thenReturn(fridge);
+
+        RecipeIngredientIndex index = new RecipeIngredientIndex(recipeRepository, foodItemRepository);
+        index.rebuild();
+        return index.snapshotMatches();
+    }
+}
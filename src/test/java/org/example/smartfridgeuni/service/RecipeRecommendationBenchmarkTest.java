@@ -0,0 +1,80 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.BenchmarkRunner;
+import org.example.smartfridgeuni.PostgresIntegrationTest;
+import org.example.smartfridgeuni.model.dto.RecommendationResponseDTO;
+import org.example.smartfridgeuni.service.RecipeRecommendationService.Mode;
+import org.example.smartfridgeuni.service.RecipeRecommendationService.Ranking;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uncached recommendation latency over 10k, 100k and 1M recipes and 200 fridge items, served from
+ * the in-memory index and pushed down to the database. The 1M catalog needs the larger heap the
+ * benchmark profile gives the test JVM.
+ */
+@Tag(BenchmarkRunner.TAG)
+@TestPropertySource(properties = "recommendation.cache.max-size=0")
+class RecipeRecommendationBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+    private static final int DISTINCT_INGREDIENTS = 400;
+    private static final int FRIDGE_ITEMS = 200;
+
+    @Autowired
+    private RecipeRecommendationService recommendationService;
+
+    @Autowired
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void recommendationLatency(int recipes) throws Exception {
+        seed(recipes);
+        int iterations = recipes >= 1_000_000 ? 20 : 200;
+
+        for (Mode mode : Mode.values()) {
+            ReflectionTestUtils.setField(AopTestUtils.getUltimateTargetObject(recommendationService), "mode", mode);
+            for (int limit : new int[]{10, 100}) {
+                BenchmarkRunner.measure("recommendations recipes=" + recipes + " mode=" + mode + " limit=" + limit,
+                        iterations / 4, iterations, 1, () -> {
+                            RecommendationResponseDTO response =
+                                    recommendationService.getRecipeRecommendations(20.0, false, limit, 0, Ranking.MATCH);
+                            assertThat(response.getRecommendations()).isNotEmpty();
+                        });
+            }
+        }
+    }
+
+    private void seed(int recipes) {
+        jdbcTemplate.execute("TRUNCATE recipe_ingredients, recipes, food_items");
+        jdbcTemplate.update("""
+                INSERT INTO recipes (name, instructions, prep_time, servings, created_date)
+                SELECT 'recipe ' || r, 'Mix everything.', 10, 2, NOW() FROM generate_series(1, ?) AS r
+                """, recipes);
+        jdbcTemplate.update("""
+                INSERT INTO recipe_ingredients (recipe_id, ingredient_name, required_quantity, unit)
+                SELECT r.id, 'ingredient ' || ((r.id * 7 + i * 13) % ?), 1, 'pcs'
+                FROM recipes r CROSS JOIN generate_series(1, ?) AS i
+                """, DISTINCT_INGREDIENTS, INGREDIENTS_PER_RECIPE);
+        jdbcTemplate.update("""
+                INSERT INTO food_items (id, name, category, quantity, unit, expiration_date, added_date, version)
+                SELECT nextval('food_items_seq'), 'ingredient ' || (i * 2), 'Pantry', 5, 'pcs',
+                       CURRENT_DATE + (i % 30), NOW(), 0
+                FROM generate_series(1, ?) AS i
+                """, FRIDGE_ITEMS);
+        jdbcTemplate.execute("ANALYZE");
+        recipeIngredientIndex.rebuild();
+    }
+}
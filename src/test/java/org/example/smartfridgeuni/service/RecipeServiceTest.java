@@ -0,0 +1,56 @@
+package org.example.smartfridgeuni.service;
+
+import org.example.smartfridgeuni.model.dto.RecipeDTO;
+import org.example.smartfridgeuni.model.entity.Recipe;
+import org.example.smartfridgeuni.model.entity.RecipeIngredient;
+import org.example.smartfridgeuni.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecipeServiceTest {
+
+    @Test
+    void cachedRecipeIsCopiedForEveryCaller() {
+        RecipeRepository recipeRepository = mock(RecipeRepository.class);
+        RecipeService recipeService = new RecipeService(recipeRepository, mock(SearchEngine.class),
+                new LookupCache(100, Duration.ofMinutes(10)), mock(ApplicationEventPublisher.class));
+        when(recipeRepository.findWithIngredientsById(1L)).thenReturn(Optional.of(omelette()));
+
+        RecipeDTO first = recipeService.getRecipeById(1L);
+        first.setName("Changed by a caller");
+        first.getIngredients().get(0).setIngredientName("Changed by a caller");
+        first.getIngredients().clear();
+
+        RecipeDTO second = recipeService.getRecipeById(1L);
+
+        verify(recipeRepository, times(1)).findWithIngredientsById(1L);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("Omelette");
+        assertThat(second.getIngredients()).singleElement()
+                .satisfies(ingredient -> assertThat(ingredient.getIngredientName()).isEqualTo("Eggs"));
+    }
+
+    private static Recipe omelette() {
+        Recipe recipe = new Recipe();
+        recipe.setId(1L);
+        recipe.setName("Omelette");
+
+        RecipeIngredient eggs = new RecipeIngredient();
+        eggs.setId(10L);
+        eggs.setIngredientName("Eggs");
+        eggs.setRequiredQuantity(3.0);
+        eggs.setUnit("pcs");
+        eggs.setRecipe(recipe);
+        recipe.getIngredients().add(eggs);
+        return recipe;
+    }
+}
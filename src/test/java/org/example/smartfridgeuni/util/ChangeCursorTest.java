@@ -0,0 +1,44 @@
+package org.example.smartfridgeuni.util;
+
+import org.example.smartfridgeuni.exception.CustomException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        ChangeCursor cursor = new ChangeCursor(9_007_199_254L, Long.MAX_VALUE);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(ChangeCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void startCursorRoundTrips() {
+        assertThat(ChangeCursor.decode(ChangeCursor.START.encode())).isEqualTo(ChangeCursor.START);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "12:", ":34", "12", "a:b", "12:34:56", "99999999999999999999:1"})
+    void malformedTokenIsRejectedAsInvalid(String raw) {
+        String token = raw.equals("not base64!") ? raw : encode(raw);
+
+        assertThatThrownBy(() -> ChangeCursor.decode(token))
+                .isInstanceOf(CustomException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
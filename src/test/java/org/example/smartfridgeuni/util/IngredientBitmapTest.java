@@ -0,0 +1,61 @@
+package org.example.smartfridgeuni.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientBitmapTest {
+
+    @Test
+    void cardinalityCountsDistinctIds() {
+        assertThat(IngredientBitmap.of(new int[0]).cardinality()).isZero();
+        assertThat(IngredientBitmap.of(new int[]{5, 3, 5, 3, 200}).cardinality()).isEqualTo(3);
+    }
+
+    @Test
+    void forEachVisitsIdsInAscendingOrderAcrossWordBoundaries() {
+        IngredientBitmap bitmap = IngredientBitmap.of(new int[]{130, 0, 63, 64, 127, 1, 10_000, 64});
+
+        List<Integer> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+
+        assertThat(ids).containsExactly(0, 1, 63, 64, 127, 130, 10_000);
+    }
+
+    @Test
+    void andCardinalityCountsSharedIds() {
+        IngredientBitmap bitmap = IngredientBitmap.of(new int[]{0, 63, 64, 130, 10_000});
+        BitSet fridge = new BitSet();
+        fridge.set(63);
+        fridge.set(64);
+        fridge.set(131);
+        fridge.set(10_000);
+
+        assertThat(bitmap.andCardinality(fridge.toLongArray())).isEqualTo(3);
+    }
+
+    @Test
+    void andCardinalityIgnoresWordsBeyondTheDenseBitset() {
+        IngredientBitmap bitmap = IngredientBitmap.of(new int[]{1, 500, 10_000});
+        BitSet fridge = new BitSet();
+        fridge.set(1);
+
+        assertThat(bitmap.andCardinality(fridge.toLongArray())).isEqualTo(1);
+        assertThat(bitmap.andCardinality(new long[0])).isZero();
+    }
+
+    @Test
+    void containsChecksTheDenseBitsetWithoutGrowingIt() {
+        BitSet fridge = new BitSet();
+        fridge.set(64);
+        long[] dense = fridge.toLongArray();
+
+        assertThat(IngredientBitmap.contains(dense, 64)).isTrue();
+        assertThat(IngredientBitmap.contains(dense, 0)).isFalse();
+        assertThat(IngredientBitmap.contains(dense, 128)).isFalse();
+    }
+}
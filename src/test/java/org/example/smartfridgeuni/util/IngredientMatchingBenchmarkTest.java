@@ -0,0 +1,139 @@
+package org.example.smartfridgeuni.util;
+
+import org.example.smartfridgeuni.BenchmarkRunner;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recipe matching per request with the string-set path that {@code calculateRecipeMatch} used,
+ * against the interned-id bitmap path that replaced it. The string path canonicalizes every
+ * ingredient name, builds the available and missing lists for every recipe and sorts all matches;
+ * the bitmap path ANDs each recipe's words with the fridge bitset, keeps the top matches in a
+ * bounded heap and builds name lists only for those.
+ */
+@Tag(BenchmarkRunner.TAG)
+class IngredientMatchingBenchmarkTest {
+
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+    private static final int DISTINCT_INGREDIENTS = 400;
+    private static final int FRIDGE_ITEMS = 150;
+    private static final double MIN_MATCH = 20;
+    private static final int LIMIT = 10;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void stringSetVersusBitmapMatching(int recipes) throws Exception {
+        List<List<String>> catalog = catalog(recipes);
+        List<String> fridge = new ArrayList<>();
+        for (int i = 0; i < FRIDGE_ITEMS; i++) {
+            fridge.add("Ingredient " + (i * 2));
+        }
+
+        Map<String, Integer> ingredientIds = new HashMap<>();
+        IngredientBitmap[] bitmaps = new IngredientBitmap[recipes];
+        int[][] recipeIds = new int[recipes][];
+        for (int r = 0; r < recipes; r++) {
+            int[] ids = catalog.get(r).stream()
+                    .mapToInt(name -> ingredientIds.computeIfAbsent(canonicalName(name), key -> ingredientIds.size()))
+                    .toArray();
+            recipeIds[r] = ids;
+            bitmaps[r] = IngredientBitmap.of(ids);
+        }
+
+        int iterations = Math.max(20, 2_000_000 / recipes);
+        BenchmarkRunner.measure("matching string-set recipes=" + recipes, iterations, iterations, 1, () ->
+                assertThat(matchWithStringSets(catalog, fridge)).hasSize(LIMIT));
+        BenchmarkRunner.measure("matching bitmap recipes=" + recipes, iterations, iterations, 1, () ->
+                assertThat(matchWithBitmaps(catalog, bitmaps, recipeIds, ingredientIds, fridge)).hasSize(LIMIT));
+    }
+
+    private static List<Match> matchWithStringSets(List<List<String>> catalog, List<String> fridge) {
+        Set<String> available = new HashSet<>();
+        fridge.forEach(name -> available.add(canonicalName(name)));
+
+        List<Match> matches = new ArrayList<>();
+        for (int r = 0; r < catalog.size(); r++) {
+            List<String> ingredientNames = catalog.get(r);
+            List<String> availableForRecipe = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (String name : ingredientNames) {
+                if (available.contains(canonicalName(name))) {
+                    availableForRecipe.add(name);
+                } else {
+                    missing.add(name);
+                }
+            }
+            double matchPercentage = (double) availableForRecipe.size() / ingredientNames.size() * 100;
+            if (matchPercentage >= MIN_MATCH) {
+                matches.add(new Match(r, matchPercentage, availableForRecipe, missing));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::matchPercentage).reversed());
+        return matches.subList(0, LIMIT);
+    }
+
+    private static List<Match> matchWithBitmaps(List<List<String>> catalog, IngredientBitmap[] bitmaps, int[][] recipeIds,
+                                                Map<String, Integer> ingredientIds, List<String> fridge) {
+        BitSet availableIds = new BitSet();
+        for (String name : fridge) {
+            Integer id = ingredientIds.get(canonicalName(name));
+            if (id != null) {
+                availableIds.set(id);
+            }
+        }
+        long[] available = availableIds.toLongArray();
+
+        TopK<Match> top = new TopK<>(LIMIT, Comparator.comparingDouble(Match::matchPercentage).reversed());
+        for (int r = 0; r < bitmaps.length; r++) {
+            double matchPercentage = (double) bitmaps[r].andCardinality(available) / bitmaps[r].cardinality() * 100;
+            if (matchPercentage >= MIN_MATCH) {
+                top.offer(new Match(r, matchPercentage, null, null));
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(LIMIT);
+        for (Match match : top.toSortedList()) {
+            List<String> ingredientNames = catalog.get(match.recipe());
+            List<String> availableForRecipe = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < ingredientNames.size(); i++) {
+                (IngredientBitmap.contains(available, recipeIds[match.recipe()][i]) ? availableForRecipe : missing)
+                        .add(ingredientNames.get(i));
+            }
+            matches.add(new Match(match.recipe(), match.matchPercentage(), availableForRecipe, missing));
+        }
+        return matches;
+    }
+
+    private static List<List<String>> catalog(int recipes) {
+        List<List<String>> catalog = new ArrayList<>(recipes);
+        for (int r = 1; r <= recipes; r++) {
+            List<String> ingredients = new ArrayList<>(INGREDIENTS_PER_RECIPE);
+            for (int i = 1; i <= INGREDIENTS_PER_RECIPE; i++) {
+                ingredients.add("Ingredient " + ((r * 7 + i * 13) % DISTINCT_INGREDIENTS));
+            }
+            catalog.add(ingredients);
+        }
+        return catalog;
+    }
+
+    private static String canonicalName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Match(int recipe, double matchPercentage, List<String> available, List<String> missing) {
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.smartfridgeuni.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    @Test
+    void missLoadsAndHitServesTheCachedValue() {
+        LruCache<String, String> cache = new LruCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("a", () -> "A" + loads.incrementAndGet())).isEqualTo("A1");
+        assertThat(cache.get("a", () -> "A" + loads.incrementAndGet())).isEqualTo("A1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedAndCounted() {
+        LruCache<String, String> cache = new LruCache<>(2);
+        cache.get("a", () -> "A");
+        cache.get("b", () -> "B");
+        cache.get("a", () -> "A");
+
+        cache.get("c", () -> "C");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+        assertThat(cache.get("a", () -> "reloaded")).isEqualTo("A");
+        assertThat(cache.get("b", () -> "reloaded")).isEqualTo("reloaded");
+        assertThat(cache.evictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void entryIsReloadedOnceItsTtlHasPassed() throws InterruptedException {
+        LruCache<String, String> cache = new LruCache<>(10, Duration.ofMillis(50));
+        cache.get("a", () -> "first");
+
+        assertThat(cache.get("a", () -> "second")).isEqualTo("first");
+        TimeUnit.MILLISECONDS.sleep(80);
+
+        assertThat(cache.get("a", () -> "second")).isEqualTo("second");
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void zeroTtlNeverExpires() throws InterruptedException {
+        LruCache<String, String> cache = new LruCache<>(10, Duration.ZERO);
+        cache.get("a", () -> "first");
+        TimeUnit.MILLISECONDS.sleep(20);
+
+        assertThat(cache.get("a", () -> "second")).isEqualTo("first");
+    }
+
+    @Test
+    void invalidateForcesAReload() {
+        LruCache<String, String> cache = new LruCache<>(10);
+        cache.get("a", () -> "first");
+
+        cache.invalidate("a");
+
+        assertThat(cache.get("a", () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsReturnedButNotCached() throws Exception {
+        LruCache<String, String> cache = new LruCache<>(10);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> load = executor.submit(() -> cache.get("a", () -> {
+                loading.countDown();
+                await(invalidated);
+                return "stale";
+            }));
+
+            await(loading);
+            cache.invalidate("a");
+            invalidated.countDown();
+
+            assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a", () -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get("a", () -> "unused")).isEqualTo("fresh");
+    }
+
+    @Test
+    void clearDuringALoadAlsoKeepsItOutOfTheCache() {
+        LruCache<String, String> cache = new LruCache<>(10);
+
+        assertThat(cache.get("a", () -> {
+            cache.clear();
+            return "stale";
+        })).isEqualTo("stale");
+
+        assertThat(cache.get("a", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
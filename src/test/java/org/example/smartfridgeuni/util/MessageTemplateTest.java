@@ -0,0 +1,52 @@
+package org.example.smartfridgeuni.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessageTemplateTest {
+
+    @Test
+    void rendersPositionalArguments() {
+        MessageTemplate template = MessageTemplate.compile("• {0} ({1} {2}) - Expires {3}\n");
+
+        assertThat(template.render("Milk", 1.0, "l", "tomorrow")).isEqualTo("• Milk (1.0 l) - Expires tomorrow\n");
+    }
+
+    @Test
+    void argumentsMayBeReorderedRepeatedAndAdjacent() {
+        MessageTemplate template = MessageTemplate.compile("{1}{0}, {1}!");
+
+        assertThat(template.render("world", "hello")).isEqualTo("helloworld, hello!");
+    }
+
+    @Test
+    void patternWithoutPlaceholdersIsReturnedAsIs() {
+        assertThat(MessageTemplate.compile("").render()).isEmpty();
+        assertThat(MessageTemplate.compile("no placeholders").render("ignored")).isEqualTo("no placeholders");
+    }
+
+    @Test
+    void unclosedBraceIsKeptAsLiteral() {
+        assertThat(MessageTemplate.compile("{0} items {").render(3)).isEqualTo("3 items {");
+    }
+
+    @Test
+    void nullArgumentRendersAsNull() {
+        assertThat(MessageTemplate.compile("[{0}]").render((Object) null)).isEqualTo("[null]");
+    }
+
+    @Test
+    void appendToAddsToTheExistingBuilder() {
+        StringBuilder out = new StringBuilder("Subject: ");
+        MessageTemplate.compile("{0} notifications").appendTo(out, 2);
+
+        assertThat(out).hasToString("Subject: 2 notifications");
+    }
+
+    @Test
+    void nonNumericPlaceholderIsRejectedAtCompileTime() {
+        assertThatThrownBy(() -> MessageTemplate.compile("{name}")).isInstanceOf(NumberFormatException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.smartfridgeuni.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsAFullBucketThenReportsTheWaitForTheNextPermit() {
+        TokenBucket bucket = new TokenBucket(2, Duration.ofHours(1));
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+
+        long waitNanos = bucket.tryAcquire();
+        assertThat(waitNanos).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(30).toNanos());
+        assertThat(waitNanos).isGreaterThan(Duration.ofMinutes(29).toNanos());
+    }
+
+    @Test
+    void refusedAcquisitionDoesNotConsumeAPermit() {
+        TokenBucket bucket = new TokenBucket(1, Duration.ofHours(1));
+        bucket.tryAcquire();
+
+        long first = bucket.tryAcquire();
+        long second = bucket.tryAcquire();
+
+        assertThat(second).isPositive().isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void refillsAfterTheReportedWait() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, Duration.ofMillis(50));
+        assertThat(bucket.tryAcquire()).isZero();
+
+        long waitNanos = bucket.tryAcquire();
+        assertThat(waitNanos).isPositive();
+
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+        assertThat(bucket.tryAcquire()).isZero();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.smartfridgeuni.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKTest {
+
+    private record Scored(String name, int score) {
+    }
+
+    private static final Comparator<Scored> HIGHEST_FIRST = Comparator.comparingInt(Scored::score).reversed();
+
+    @Test
+    void zeroKeepsNothing() {
+        TopK<Integer> top = new TopK<>(0, Comparator.naturalOrder());
+        List.of(3, 1, 2).forEach(top::offer);
+
+        assertThat(top.toSortedList()).isEmpty();
+    }
+
+    @Test
+    void oneKeepsTheBestElement() {
+        TopK<Integer> top = new TopK<>(1, Comparator.naturalOrder());
+        List.of(5, 3, 9, 1, 4).forEach(top::offer);
+
+        assertThat(top.toSortedList()).containsExactly(1);
+    }
+
+    @Test
+    void toSortedListFollowsTheComparator() {
+        TopK<Integer> top = new TopK<>(3, Comparator.reverseOrder());
+        List.of(4, 8, 1, 9, 6, 2).forEach(top::offer);
+
+        assertThat(top.toSortedList()).containsExactly(9, 8, 6);
+    }
+
+    @Test
+    void fewerElementsThanKAreAllKept() {
+        TopK<Integer> top = new TopK<>(10, Comparator.naturalOrder());
+        List.of(3, 1, 2).forEach(top::offer);
+
+        assertThat(top.toSortedList()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void tieAtTheCutoffKeepsTheElementOfferedFirst() {
+        TopK<Scored> top = new TopK<>(2, HIGHEST_FIRST);
+        top.offer(new Scored("a", 10));
+        top.offer(new Scored("b", 5));
+        top.offer(new Scored("c", 5));
+
+        assertThat(top.toSortedList()).containsExactly(new Scored("a", 10), new Scored("b", 5));
+    }
+
+    @Test
+    void offerAllMergesIntoTheOverallTopK() {
+        TopK<Integer> left = new TopK<>(3, Comparator.naturalOrder());
+        TopK<Integer> right = new TopK<>(3, Comparator.naturalOrder());
+        List.of(7, 2, 9, 4).forEach(left::offer);
+        List.of(1, 8, 3, 6).forEach(right::offer);
+
+        left.offerAll(right);
+
+        assertThat(left.toSortedList()).containsExactly(1, 2, 3);
+    }
+}